@@ -0,0 +1,19 @@
+-- ========================================
+-- 数据库迁移脚本：为各子表的 professor_id 外键添加索引
+-- PostgreSQL 不会自动为外键列建索引；
+-- 后台首页统计、按教授查询列表、删除教授时的级联删除都按 professor_id 查询
+-- ========================================
+
+CREATE INDEX IF NOT EXISTS idx_publication_professor_id ON publication (professor_id);
+CREATE INDEX IF NOT EXISTS idx_education_professor_id ON education (professor_id);
+CREATE INDEX IF NOT EXISTS idx_research_project_professor_id ON research_project (professor_id);
+CREATE INDEX IF NOT EXISTS idx_teaching_course_professor_id ON teaching_course (professor_id);
+CREATE INDEX IF NOT EXISTS idx_award_professor_id ON award (professor_id);
+
+-- contact_info.professor_id 已有唯一约束（自带索引），无需再建
+
+-- 验证：查看索引
+SELECT tablename, indexname
+FROM pg_indexes
+WHERE indexname LIKE 'idx_%_professor_id'
+ORDER BY tablename;
@@ -0,0 +1,48 @@
+-- ========================================
+-- 数据库迁移脚本：论文全文检索（PostgreSQL原生检索）
+-- 配合 application.properties 中 publication.search.backend=postgres 使用
+-- ========================================
+
+-- 1. 启用三元组（trigram）扩展，用于加速 LIKE '%关键词%' 查询（中文检索主要依赖它）
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 2. 添加生成列 search_vector（标题权重A、作者权重B、期刊权重C）
+--    生成列由数据库自动维护，实体类中不需要映射
+--    使用 'simple' 配置：不做词干提取，中英文混合内容都能按原词匹配
+ALTER TABLE publication
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(authors, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(journal, '')), 'C')
+) STORED;
+
+COMMENT ON COLUMN publication.search_vector IS '全文检索向量（由title/authors/journal自动生成）';
+
+-- 3. 全文检索 GIN 索引
+CREATE INDEX IF NOT EXISTS idx_publication_search_vector
+ON publication USING GIN (search_vector);
+
+-- 4. 三元组 GIN 索引（与查询中的 LOWER(列) LIKE ... 表达式保持一致）
+CREATE INDEX IF NOT EXISTS idx_publication_title_trgm
+ON publication USING GIN (LOWER(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_publication_authors_trgm
+ON publication USING GIN (LOWER(authors) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_publication_journal_trgm
+ON publication USING GIN (LOWER(journal) gin_trgm_ops);
+
+-- 5. 更新统计信息，让查询计划器使用新索引
+ANALYZE publication;
+
+-- 验证：查看索引
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'publication';
+
+-- 验证：查看执行计划（应出现 Bitmap Index Scan，而不是 Seq Scan）
+-- EXPLAIN ANALYZE
+-- SELECT id, title FROM publication
+-- WHERE search_vector @@ plainto_tsquery('simple', 'learning')
+--    OR LOWER(title) LIKE '%learning%';
@@ -0,0 +1,19 @@
+-- ========================================
+-- 数据库迁移脚本：论文游标分页索引
+-- 游标分页按 year DESC（NULL在前）, id DESC 排序并从游标位置继续查询，
+-- 有了这个复合索引后，任意深度的翻页都只需要读取一页的数据
+-- ========================================
+
+-- DESC 排序默认 NULLS FIRST，与查询中的 ORDER BY p.year DESC NULLS FIRST, p.id DESC 一致
+CREATE INDEX IF NOT EXISTS idx_publication_year_id
+ON publication (year DESC, id DESC);
+
+-- 更新统计信息（游标分页的总数估算值读取 pg_class.reltuples）
+ANALYZE publication;
+
+-- 验证：查看执行计划（应出现 Index Scan using idx_publication_year_id）
+-- EXPLAIN ANALYZE
+-- SELECT * FROM publication
+-- WHERE year < 2020 OR (year = 2020 AND id < 500)
+-- ORDER BY year DESC NULLS FIRST, id DESC
+-- LIMIT 21;
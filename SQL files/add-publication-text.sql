@@ -0,0 +1,30 @@
+-- ========================================
+-- 数据库迁移脚本：论文PDF全文表
+-- PDF上传后由后台线程提取全文和摘要（PdfTextExtractionService），用于论文搜索
+-- ddl-auto=update 会自动建表，这里补充 postgres 检索后端使用的三元组索引
+-- ========================================
+
+-- 1. 全文表（主键即论文ID；pdf_url 与论文当前PDF不一致的记录视为过期）
+CREATE TABLE IF NOT EXISTS publication_text (
+    publication_id BIGINT PRIMARY KEY,
+    pdf_url VARCHAR(500),
+    abstract_text TEXT,
+    content TEXT,
+    extracted_at TIMESTAMP
+);
+
+COMMENT ON TABLE publication_text IS '论文PDF全文（后台提取，用于论文搜索）';
+
+-- 2. 三元组 GIN 索引（与查询中的 LOWER(t.content) LIKE ... 表达式保持一致）
+--    需要 pg_trgm 扩展（见 add-publication-fulltext-search.sql）
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_publication_text_content_trgm
+ON publication_text USING GIN (LOWER(content) gin_trgm_ops);
+
+-- 3. 更新统计信息
+ANALYZE publication_text;
+
+-- 验证：查看已提取全文的论文数量
+SELECT COUNT(*) AS extracted, COUNT(abstract_text) AS with_abstract
+FROM publication_text;
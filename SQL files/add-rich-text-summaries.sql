@@ -0,0 +1,32 @@
+-- ========================================
+-- 数据库迁移脚本：富文本字段的纯文本摘要列
+-- 保存时由实体回调生成（HtmlUtil.summarize），后台列表页面只查询摘要列，不加载整段 TEXT
+-- ddl-auto=update 会自动加列，旧数据的摘要在应用启动后由 RichTextSummaryService 补全
+-- ========================================
+
+-- 1. 摘要列（最多 150 个字符加省略号）
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS biography_summary VARCHAR(200);
+ALTER TABLE research_project ADD COLUMN IF NOT EXISTS description_summary VARCHAR(200);
+ALTER TABLE teaching_course ADD COLUMN IF NOT EXISTS description_summary VARCHAR(200);
+ALTER TABLE teaching_course ADD COLUMN IF NOT EXISTS syllabus_summary VARCHAR(200);
+ALTER TABLE award ADD COLUMN IF NOT EXISTS description_summary VARCHAR(200);
+
+COMMENT ON COLUMN professor.biography_summary IS '个人简介纯文本摘要（保存时生成）';
+COMMENT ON COLUMN research_project.description_summary IS '项目描述纯文本摘要（保存时生成）';
+COMMENT ON COLUMN teaching_course.description_summary IS '课程描述纯文本摘要（保存时生成）';
+COMMENT ON COLUMN teaching_course.syllabus_summary IS '课程大纲纯文本摘要（保存时生成）';
+COMMENT ON COLUMN award.description_summary IS '奖项描述纯文本摘要（保存时生成）';
+
+-- 验证：查看尚未补全摘要的行数（应用启动并补全后应为 0）
+SELECT 'professor' AS table_name, COUNT(*) AS pending FROM professor
+WHERE biography IS NOT NULL AND biography_summary IS NULL
+UNION ALL
+SELECT 'research_project', COUNT(*) FROM research_project
+WHERE description IS NOT NULL AND description_summary IS NULL
+UNION ALL
+SELECT 'teaching_course', COUNT(*) FROM teaching_course
+WHERE (description IS NOT NULL AND description_summary IS NULL)
+   OR (syllabus IS NOT NULL AND syllabus_summary IS NULL)
+UNION ALL
+SELECT 'award', COUNT(*) FROM award
+WHERE description IS NOT NULL AND description_summary IS NULL;
@@ -0,0 +1,58 @@
+package com.audrey.homepage.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 网站内容版本号
+ *
+ * 任何实体被新增、修改、删除后（事务提交后），版本号加一并记录修改时间。
+ * 页面缓存以版本号判断缓存是否过期，以修改时间作为 Last-Modified 响应头。
+ */
+@Component
+public class ContentRevision {
+
+    /**
+     * 版本快照（版本号和修改时间一起更新，避免读到不一致的组合）
+     *
+     * @param revision 版本号
+     * @param lastModified 最后修改时间（毫秒）
+     */
+    public record Snapshot(long revision, long lastModified) {
+    }
+
+    private final AtomicReference<Snapshot> current =
+            new AtomicReference<>(new Snapshot(1, System.currentTimeMillis()));
+
+    /**
+     * 获取当前版本
+     */
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /**
+     * 版本号加一
+     * 在事务中调用时，推迟到事务提交后执行，
+     * 避免提交前渲染的旧页面被当作新版本缓存
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow();
+                }
+            });
+        } else {
+            bumpNow();
+        }
+    }
+
+    private void bumpNow() {
+        current.updateAndGet(snapshot -> new Snapshot(snapshot.revision() + 1, System.currentTimeMillis()));
+    }
+}
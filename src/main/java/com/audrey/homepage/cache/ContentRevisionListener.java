@@ -0,0 +1,26 @@
+package com.audrey.homepage.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 实体变更监听器
+ * 实体类通过 @EntityListeners(ContentRevisionListener.class) 注册，
+ * 任何新增、修改、删除都会使网站内容版本号加一（页面缓存随之失效）
+ *
+ * 监听器由Hibernate通过Spring创建，因此可以注入Spring Bean
+ */
+public class ContentRevisionListener {
+
+    @Autowired
+    private ContentRevision contentRevision;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        contentRevision.bump();
+    }
+}
@@ -0,0 +1,176 @@
+package com.audrey.homepage.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * 公开页面整页缓存过滤器
+ *
+ * 缓存的页面（HomeController）：首页、教授详情、论文详情、项目详情、课程详情、获奖详情
+ *
+ * 工作方式：
+ * 1. 以 路径 + 排序后的查询参数 作为缓存key，缓存渲染好的HTML；
+ *    每个页面只允许它会读取的查询参数，带有其它参数（如随意拼接的 ?x=1）的请求不走缓存，
+ *    避免任意参数组合把缓存占满
+ * 2. 缓存条目记录渲染时的内容版本号（ContentRevision），版本号变化后缓存自动作废
+ * 3. 响应带强ETag（版本号 + 内容MD5）和 Last-Modified（最后一次内容修改时间），
+ *    浏览器和代理再次请求时带上 If-None-Match / If-Modified-Since，内容未变则直接返回304
+ */
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * 需要缓存的页面
+     *
+     * @param path 页面路径
+     * @param params 页面会读取的查询参数（目前这些页面都不读取查询参数）
+     */
+    private record CachedRoute(Pattern path, Set<String> params) {
+    }
+
+    private static final List<CachedRoute> CACHED_ROUTES = List.of(
+            new CachedRoute(Pattern.compile("^/$"), Set.of()),
+            new CachedRoute(Pattern.compile("^/(professor|publication|project|course|award)/\\d+$"), Set.of()));
+
+    /**
+     * 缓存的HTML总大小上限（64MB）
+     */
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    private ContentRevision contentRevision;
+
+    /**
+     * 渲染好的页面
+     */
+    private record CachedPage(long revision, long lastModified, String etag,
+                              String contentType, byte[] body) {
+    }
+
+    private final Cache<String, CachedPage> pages = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHE_BYTES)
+            .weigher((String key, CachedPage page) -> page.body().length)
+            .recordStats()
+            .build();
+
+    /**
+     * 缓存统计
+     */
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    /**
+     * 缓存的页面数量
+     */
+    public long estimatedSize() {
+        return pages.estimatedSize();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        CachedRoute route = findRoute(request);
+        return route == null || !route.params().containsAll(Collections.list(request.getParameterNames()));
+    }
+
+    private static CachedRoute findRoute(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (CachedRoute route : CACHED_ROUTES) {
+            if (route.path().matcher(uri).matches()) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContentRevision.Snapshot revision = contentRevision.current();
+        String key = cacheKey(request);
+
+        // 1. 命中缓存且版本未变：直接返回（或304）
+        CachedPage cached = pages.getIfPresent(key);
+        if (cached != null && cached.revision() == revision.revision()) {
+            writeCachedPage(cached, request, response);
+            return;
+        }
+
+        // 2. 未命中：正常渲染，同时捕获输出
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        boolean cacheable = wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")
+                && wrapper.getHeader(HttpHeaders.SET_COOKIE) == null;
+
+        // 渲染期间内容发生了变化，则不缓存（页面可能是旧数据）
+        if (cacheable && contentRevision.current().revision() == revision.revision()) {
+            byte[] body = wrapper.getContentAsByteArray();
+            String etag = "\"r" + revision.revision() + "-" + DigestUtils.md5DigestAsHex(body) + "\"";
+            pages.put(key, new CachedPage(revision.revision(), revision.lastModified(), etag, contentType, body));
+
+            wrapper.setHeader(HttpHeaders.ETAG, etag);
+            wrapper.setDateHeader(HttpHeaders.LAST_MODIFIED, revision.lastModified());
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * 输出缓存的页面；请求带的 If-None-Match / If-Modified-Since 匹配时返回304
+     */
+    private void writeCachedPage(CachedPage page, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(page.etag(), page.lastModified())) {
+            return;
+        }
+        response.setContentType(page.contentType());
+        response.setContentLength(page.body().length);
+        response.getOutputStream().write(page.body());
+    }
+
+    /**
+     * 缓存key：路径 + 按名称排序的查询参数（shouldNotFilter 已保证只有允许的参数）
+     */
+    private static String cacheKey(HttpServletRequest request) {
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        if (params.isEmpty()) {
+            return request.getRequestURI();
+        }
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+}
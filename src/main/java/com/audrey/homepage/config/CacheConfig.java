@@ -0,0 +1,58 @@
+package com.audrey.homepage.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 缓存配置类
+ *
+ * 功能：
+ * 1. 开启Spring缓存注解（@Cacheable 等）
+ * 2. 统一定义缓存名称
+ * 3. 为需要单独限制容量的缓存注册独立配置
+ *
+ * 只缓存不可变的值（投影列表、ID列表、统计结果），不缓存托管实体：
+ * 实体属于加载它的会话，调用方会修改后保存，多个线程共用同一个实例并不安全
+ *
+ * 缓存实现为Caffeine，容量和过期时间见 application.properties 中的 spring.cache.caffeine.spec
+ * （论文搜索结果缓存除外，见 publicationSearchCacheCustomizer）
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * 教授卡片列表、下拉框列表（key：cards / options）
+     */
+    public static final String PROFESSOR_LISTS = "professorLists";
+
+    /**
+     * 论文搜索结果（key：规范化后的 关键词、年份、类型、页码、每页数量）
+     */
+    public static final String PUBLICATION_SEARCH = "publicationSearch";
+
+    /**
+     * 论文搜索结果最多缓存的条数
+     * 每条是一页论文的ID和总数，组合很多但热门查询（空关键词、按年份筛选）集中，少量条目即可覆盖
+     */
+    private static final int PUBLICATION_SEARCH_MAX_ENTRIES = 256;
+
+    /**
+     * 论文搜索结果缓存单独限制容量（不使用 spring.cache.caffeine.spec 的1000条）
+     * 容量满时由Caffeine淘汰最近最少使用的条目；论文有任何写入时整体清空
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> publicationSearchCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(PUBLICATION_SEARCH, Caffeine.newBuilder()
+                .maximumSize(PUBLICATION_SEARCH_MAX_ENTRIES)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.audrey.homepage.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 后台任务配置
+ *
+ * 说明：
+ * - 开启定时任务（@Scheduled）
+ * - 每类后台任务使用独立的有界线程池，互不抢占
+ * - 队列满时提交任务会抛出 TaskRejectedException，由调用方决定是否放弃
+ */
+@Configuration
+@EnableScheduling
+public class TaskExecutorConfig {
+
+    /**
+     * 图片缩略图生成线程池
+     */
+    public static final String IMAGE_TASK_EXECUTOR = "imageTaskExecutor";
+
+    @Bean(name = IMAGE_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * 上传文件维护线程池（无用文件清理、目录迁移）
+     * 只有一个线程，维护任务依次执行，互不干扰
+     */
+    public static final String UPLOAD_MAINTENANCE_TASK_EXECUTOR = "uploadMaintenanceTaskExecutor";
+
+    @Bean(name = UPLOAD_MAINTENANCE_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor uploadMaintenanceTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("upload-maintenance-");
+        return executor;
+    }
+
+    /**
+     * 论文PDF全文提取线程池
+     * 核心线程数与最大线程数相同：启动时的补提取任务占用一个线程时，新上传的PDF仍能及时处理
+     */
+    public static final String PDF_TEXT_TASK_EXECUTOR = "pdfTextTaskExecutor";
+
+    @Bean(name = PDF_TEXT_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor pdfTextTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("pdf-text-");
+        return executor;
+    }
+
+    /**
+     * 富文本摘要补全线程池（启动时补全旧数据的纯文本摘要，只运行一次）
+     */
+    public static final String SUMMARY_BACKFILL_TASK_EXECUTOR = "summaryBackfillTaskExecutor";
+
+    @Bean(name = SUMMARY_BACKFILL_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor summaryBackfillTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("summary-backfill-");
+        return executor;
+    }
+}
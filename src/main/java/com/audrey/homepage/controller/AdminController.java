@@ -1,5 +1,11 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.AwardListView;
+import com.audrey.homepage.dto.DashboardStats;
+import com.audrey.homepage.dto.ProfessorCardView;
+import com.audrey.homepage.dto.ProfessorOptionView;
+import com.audrey.homepage.dto.ResearchProjectListView;
+import com.audrey.homepage.dto.TeachingCourseListView;
 import com.audrey.homepage.entity.*;
 import com.audrey.homepage.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,29 +46,28 @@ public class AdminController {
     @Autowired
     private ContactInfoService contactInfoService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UploadReleaseService uploadReleaseService;
+
     /**
      * 管理首页 - 显示所有教授和统计数据
      */
     @GetMapping
     public String adminHome(Model model) {
-        // 获取所有教授
-        List<Professor> professors = professorService.getAllProfessors();
-        model.addAttribute("professors", professors);
+        // 一条聚合查询得到所有教授及各类数据的条数
+        DashboardStats stats = dashboardService.getDashboardStats();
+        model.addAttribute("professors", stats.professors());
 
         // 统计数据
-        long totalProfessors = professors.size();
-        long totalPublications = publicationService.getAllPublications().size();
-        long totalProjects = researchProjectService.getAllProjects().size();
-        long totalCourses = teachingCourseService.getAllCourses().size();
-        long totalAwards = awardService.getAllAwards().size();
-        long totalEducations = educationService.getAllEducations().size();
-
-        model.addAttribute("totalProfessors", totalProfessors);
-        model.addAttribute("totalPublications", totalPublications);
-        model.addAttribute("totalProjects", totalProjects);
-        model.addAttribute("totalCourses", totalCourses);
-        model.addAttribute("totalAwards", totalAwards);
-        model.addAttribute("totalEducations", totalEducations);
+        model.addAttribute("totalProfessors", stats.totalProfessors());
+        model.addAttribute("totalPublications", stats.totalPublications());
+        model.addAttribute("totalProjects", stats.totalProjects());
+        model.addAttribute("totalCourses", stats.totalCourses());
+        model.addAttribute("totalAwards", stats.totalAwards());
+        model.addAttribute("totalEducations", stats.totalEducations());
 
         return "admin/admin-home";
     }
@@ -74,7 +79,7 @@ public class AdminController {
      */
     @GetMapping("/professors")
     public String manageProfessors(Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorCardView> professors = professorService.getProfessorCards();
         model.addAttribute("professors", professors);
         return "admin/professor-management";
     }
@@ -104,7 +109,12 @@ public class AdminController {
      */
     @PostMapping("/professors/save")
     public String saveProfessor(@ModelAttribute Professor professor, RedirectAttributes redirectAttributes) {
+        String oldAvatarUrl = professor.getId() != null
+                ? professorService.getProfessorById(professor.getId()).map(Professor::getAvatarUrl).orElse(null)
+                : null;
         professorService.saveProfessor(professor);
+        // 表单中的头像被替换或清空时，释放原头像
+        uploadReleaseService.releaseReplaced(oldAvatarUrl, professor.getAvatarUrl());
         redirectAttributes.addFlashAttribute("message", "教授信息保存成功！");
         return "redirect:/admin/professors";
     }
@@ -126,7 +136,7 @@ public class AdminController {
      */
     @GetMapping("/publications")
     public String managePublications(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
 
         if (professorId != null) {
@@ -150,7 +160,7 @@ public class AdminController {
             professorService.getProfessorById(professorId).ifPresent(publication::setProfessor);
         }
         model.addAttribute("publication", publication);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/publication-form";
     }
 
@@ -162,7 +172,7 @@ public class AdminController {
         Publication publication = publicationService.getPublicationById(id)
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + id + " 的论文"));
         model.addAttribute("publication", publication);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/publication-form";
     }
 
@@ -178,7 +188,12 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + professorId + " 的教授"));
         publication.setProfessor(professor);
 
+        String oldPdfUrl = publication.getId() != null
+                ? publicationService.getPublicationById(publication.getId()).map(Publication::getPdfUrl).orElse(null)
+                : null;
         publicationService.savePublication(publication);
+        // 表单中的PDF被替换或清空时，释放原PDF
+        uploadReleaseService.releaseReplaced(oldPdfUrl, publication.getPdfUrl());
         redirectAttributes.addFlashAttribute("message", "论文信息保存成功！");
         return "redirect:/admin/publications?professorId=" + professorId;
     }
@@ -188,7 +203,9 @@ public class AdminController {
      */
     @GetMapping("/publications/delete/{id}")
     public String deletePublication(@PathVariable Long id, @RequestParam Long professorId, RedirectAttributes redirectAttributes) {
+        String pdfUrl = publicationService.getPublicationById(id).map(Publication::getPdfUrl).orElse(null);
         publicationService.deletePublication(id);
+        uploadReleaseService.releaseReplaced(pdfUrl, null);
         redirectAttributes.addFlashAttribute("message", "论文信息删除成功！");
         return "redirect:/admin/publications?professorId=" + professorId;
     }
@@ -197,7 +214,7 @@ public class AdminController {
 
     @GetMapping("/educations")
     public String manageEducations(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
         if (professorId != null) {
             List<Education> educations = educationService.getEducationsByProfessorId(professorId);
@@ -216,7 +233,7 @@ public class AdminController {
             professorService.getProfessorById(professorId).ifPresent(education::setProfessor);
         }
         model.addAttribute("education", education);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/education-form";
     }
 
@@ -225,7 +242,7 @@ public class AdminController {
         Education education = educationService.getEducationById(id)
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + id + " 的教育背景"));
         model.addAttribute("education", education);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/education-form";
     }
 
@@ -254,10 +271,10 @@ public class AdminController {
 
     @GetMapping("/research-projects")
     public String manageResearchProjects(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
         if (professorId != null) {
-            List<ResearchProject> projects = researchProjectService.getResearchProjectsByProfessorId(professorId);
+            List<ResearchProjectListView> projects = researchProjectService.getResearchProjectListViews(professorId);
             model.addAttribute("projects", projects);
             model.addAttribute("selectedProfessorId", professorId);
             professorService.getProfessorById(professorId).ifPresent(p ->
@@ -273,7 +290,7 @@ public class AdminController {
             professorService.getProfessorById(professorId).ifPresent(project::setProfessor);
         }
         model.addAttribute("project", project);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/research-project-form";
     }
 
@@ -282,7 +299,7 @@ public class AdminController {
         ResearchProject project = researchProjectService.getResearchProjectById(id)
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + id + " 的科研项目"));
         model.addAttribute("project", project);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/research-project-form";
     }
 
@@ -311,10 +328,10 @@ public class AdminController {
 
     @GetMapping("/teaching-courses")
     public String manageTeachingCourses(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
         if (professorId != null) {
-            List<TeachingCourse> courses = teachingCourseService.getTeachingCoursesByProfessorId(professorId);
+            List<TeachingCourseListView> courses = teachingCourseService.getTeachingCourseListViews(professorId);
             model.addAttribute("courses", courses);
             model.addAttribute("selectedProfessorId", professorId);
             professorService.getProfessorById(professorId).ifPresent(p ->
@@ -330,7 +347,7 @@ public class AdminController {
             professorService.getProfessorById(professorId).ifPresent(course::setProfessor);
         }
         model.addAttribute("course", course);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/teaching-course-form";
     }
 
@@ -339,7 +356,7 @@ public class AdminController {
         TeachingCourse course = teachingCourseService.getTeachingCourseById(id)
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + id + " 的教学课程"));
         model.addAttribute("course", course);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/teaching-course-form";
     }
 
@@ -359,7 +376,11 @@ public class AdminController {
 
     @GetMapping("/teaching-courses/delete/{id}")
     public String deleteTeachingCourse(@PathVariable Long id, @RequestParam Long professorId, RedirectAttributes redirectAttributes) {
+        List<String> materialUrls = teachingCourseService.getTeachingCourseById(id)
+                .map(course -> UploadReleaseService.extractUrls(course.getMaterials()))
+                .orElse(List.of());
         teachingCourseService.deleteTeachingCourse(id);
+        uploadReleaseService.release(materialUrls);
         redirectAttributes.addFlashAttribute("message", "教学课程删除成功！");
         return "redirect:/admin/teaching-courses?professorId=" + professorId;
     }
@@ -368,10 +389,10 @@ public class AdminController {
 
     @GetMapping("/awards")
     public String manageAwards(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
         if (professorId != null) {
-            List<Award> awards = awardService.getAwardsByProfessorId(professorId);
+            List<AwardListView> awards = awardService.getAwardListViews(professorId);
             model.addAttribute("awards", awards);
             model.addAttribute("selectedProfessorId", professorId);
             professorService.getProfessorById(professorId).ifPresent(p ->
@@ -387,7 +408,7 @@ public class AdminController {
             professorService.getProfessorById(professorId).ifPresent(award::setProfessor);
         }
         model.addAttribute("award", award);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/award-form";
     }
 
@@ -396,7 +417,7 @@ public class AdminController {
         Award award = awardService.getAwardById(id)
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + id + " 的获奖信息"));
         model.addAttribute("award", award);
-        model.addAttribute("professors", professorService.getAllProfessors());
+        model.addAttribute("professors", professorService.getProfessorOptions());
         return "admin/award-form";
     }
 
@@ -425,7 +446,7 @@ public class AdminController {
 
     @GetMapping("/contact-info")
     public String manageContactInfo(@RequestParam(required = false) Long professorId, Model model) {
-        List<Professor> professors = professorService.getAllProfessors();
+        List<ProfessorOptionView> professors = professorService.getProfessorOptions();
         model.addAttribute("professors", professors);
         if (professorId != null) {
             Optional<ContactInfo> contactInfo = contactInfoService.getContactInfoByProfessorId(professorId);
@@ -463,7 +484,12 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("找不到ID为 " + professorId + " 的教授"));
         contactInfo.setProfessor(professor);
 
+        String oldQrcodeUrl = contactInfo.getId() != null
+                ? contactInfoService.getContactInfoById(contactInfo.getId()).map(ContactInfo::getWechatQrcode).orElse(null)
+                : null;
         contactInfoService.saveContactInfo(contactInfo);
+        // 表单中的微信二维码被替换或清空时，释放原二维码
+        uploadReleaseService.releaseReplaced(oldQrcodeUrl, contactInfo.getWechatQrcode());
         redirectAttributes.addFlashAttribute("message", "联系方式保存成功！");
         return "redirect:/admin/contact-info?professorId=" + professorId;
     }
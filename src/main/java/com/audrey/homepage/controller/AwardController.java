@@ -1,5 +1,6 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.AwardListItem;
 import com.audrey.homepage.entity.Award;
 import com.audrey.homepage.service.AwardService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +19,8 @@ public class AwardController {
     private AwardService awardService;
 
     @GetMapping
-    public ResponseEntity<List<Award>> getAllAwards() {
-        return ResponseEntity.ok(awardService.getAllAwards());
+    public ResponseEntity<List<AwardListItem>> getAllAwards() {
+        return ResponseEntity.ok(awardService.getAwardListItems());
     }
 
     @GetMapping("/{id}")
@@ -30,8 +31,8 @@ public class AwardController {
     }
 
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<Award>> getAwardsByProfessorId(@PathVariable Long professorId) {
-        return ResponseEntity.ok(awardService.getAwardsByProfessorId(professorId));
+    public ResponseEntity<List<AwardListItem>> getAwardsByProfessorId(@PathVariable Long professorId) {
+        return ResponseEntity.ok(awardService.getAwardListItemsByProfessorId(professorId));
     }
 
     @PostMapping
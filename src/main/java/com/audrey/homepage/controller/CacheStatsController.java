@@ -0,0 +1,120 @@
+package com.audrey.homepage.controller;
+
+import com.audrey.homepage.cache.PageCacheFilter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存统计控制器
+ * 查看各个缓存的条目数、命中次数、未命中次数、命中率
+ * 包括：Spring缓存（服务层）、Hibernate二级缓存/查询缓存、公开页面整页缓存
+ */
+@RestController
+@RequestMapping("/admin/cache-stats")
+public class CacheStatsController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PageCacheFilter pageCacheFilter;
+
+    /**
+     * 获取缓存统计
+     * GET /admin/cache-stats
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("serviceCaches", getServiceCacheStats());
+        result.put("hibernate", getHibernateCacheStats());
+        result.put("pageCache", getPageCacheStats());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 服务层Spring缓存（Caffeine）统计
+     */
+    private Map<String, Object> getServiceCacheStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats stats = nativeCache.stats();
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("size", nativeCache.estimatedSize());
+                item.put("hitCount", stats.hitCount());
+                item.put("missCount", stats.missCount());
+                item.put("hitRate", stats.hitRate());
+                item.put("evictionCount", stats.evictionCount());
+                result.put(name, item);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 公开页面整页缓存统计
+     */
+    private Map<String, Object> getPageCacheStats() {
+        CacheStats stats = pageCacheFilter.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", pageCacheFilter.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    /**
+     * Hibernate二级缓存和查询缓存统计
+     */
+    private Map<String, Object> getHibernateCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        result.put("queryCachePutCount", statistics.getQueryCachePutCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(regionName);
+            if (regionStats == null) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("hitCount", regionStats.getHitCount());
+            item.put("missCount", regionStats.getMissCount());
+            item.put("putCount", regionStats.getPutCount());
+            item.put("elementCountInMemory", regionStats.getElementCountInMemory());
+            regions.put(regionName, item);
+        }
+        result.put("regions", regions);
+
+        return result;
+    }
+}
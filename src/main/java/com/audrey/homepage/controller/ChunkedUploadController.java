@@ -0,0 +1,236 @@
+package com.audrey.homepage.controller;
+
+import com.audrey.homepage.service.ChunkedUploadService;
+import com.audrey.homepage.service.ChunkedUploadService.UploadSession;
+import com.audrey.homepage.service.TeachingCourseService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 分片上传控制器（课程资料，可断点续传）
+ *
+ * 功能：
+ * 1. 创建上传任务：POST   /api/upload/chunked/material/{courseId}
+ * 2. 查询已收到的分片：GET    /api/upload/chunked/{uploadId}
+ * 3. 上传分片：      PUT    /api/upload/chunked/{uploadId}/{index}
+ * 4. 完成上传：      POST   /api/upload/chunked/{uploadId}/complete
+ * 5. 取消上传：      DELETE /api/upload/chunked/{uploadId}
+ *
+ * 分片可以并行上传，失败的分片单独重试即可，不必重新上传整个文件
+ */
+@Controller
+@RequestMapping("/api/upload/chunked")
+public class ChunkedUploadController {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadController.class);
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private TeachingCourseService teachingCourseService;
+
+    private static final String MATERIALS_UPLOAD_DIR = "uploads/materials";
+
+    /**
+     * 创建课程资料上传任务
+     *
+     * 请求方式：POST
+     * 请求URL：/api/upload/chunked/material/{courseId}
+     * 请求体：JSON {"filename": "lecture1.pptx", "size": 12345678}
+     *
+     * @param courseId 课程ID
+     * @param requestBody 文件名和文件大小
+     * @return JSON响应（uploadId、chunkSize、chunkCount）
+     */
+    @PostMapping("/material/{courseId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> initMaterial(
+            @PathVariable Long courseId,
+            @RequestBody Map<String, Object> requestBody) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            // 1. 查找课程（验证课程存在）
+            teachingCourseService.getTeachingCourseById(courseId)
+                    .orElseThrow(() -> new NoSuchElementException("找不到ID为 " + courseId + " 的课程"));
+
+            // 2. 创建上传任务
+            Object filename = requestBody.get("filename");
+            if (!(filename instanceof String)) {
+                throw new IllegalArgumentException("文件名不能为空");
+            }
+            Object size = requestBody.get("size");
+            if (!(size instanceof Number)) {
+                throw new IllegalArgumentException("文件大小不能为空");
+            }
+            UploadSession session = chunkedUploadService.init(
+                    MATERIALS_UPLOAD_DIR, (String) filename, ((Number) size).longValue());
+
+            // 3. 返回成功响应
+            response.put("success", true);
+            response.put("uploadId", session.getUploadId());
+            response.put("chunkSize", ChunkedUploadService.CHUNK_SIZE);
+            response.put("chunkCount", session.getChunkCount());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e);
+        }
+    }
+
+    /**
+     * 查询上传任务（断点续传时获取已收到的分片）
+     *
+     * 请求方式：GET
+     * 请求URL：/api/upload/chunked/{uploadId}
+     *
+     * @param uploadId 上传任务ID
+     * @return JSON响应（received：已收到的分片序号）
+     */
+    @GetMapping("/{uploadId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UploadSession session = chunkedUploadService.getSession(uploadId);
+
+            response.put("success", true);
+            response.put("uploadId", session.getUploadId());
+            response.put("chunkSize", ChunkedUploadService.CHUNK_SIZE);
+            response.put("chunkCount", session.getChunkCount());
+            response.put("received", session.getReceived());
+            response.put("fileUrl", session.getFileUrl());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e);
+        }
+    }
+
+    /**
+     * 上传一个分片
+     *
+     * 请求方式：PUT
+     * 请求URL：/api/upload/chunked/{uploadId}/{index}
+     * 请求体：分片内容
+     *
+     * @param uploadId 上传任务ID
+     * @param index 分片序号（从0开始）
+     * @param request HTTP请求（读取请求体）
+     * @return JSON响应
+     */
+    @PutMapping("/{uploadId}/{index}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> putChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            chunkedUploadService.putChunk(uploadId, index, request.getInputStream());
+
+            response.put("success", true);
+            response.put("index", index);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e);
+        }
+    }
+
+    /**
+     * 完成上传：拼接分片并保存文件
+     *
+     * 请求方式：POST
+     * 请求URL：/api/upload/chunked/{uploadId}/complete
+     *
+     * @param uploadId 上传任务ID
+     * @return JSON响应（与 /api/upload/material/{courseId} 相同的 fileUrl、fileName、fileSize）
+     */
+    @PostMapping("/{uploadId}/complete")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> complete(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UploadSession session = chunkedUploadService.complete(uploadId);
+
+            response.put("success", true);
+            response.put("message", "资料上传成功");
+            response.put("fileUrl", session.getFileUrl());
+            response.put("fileName", session.getFilename());
+            response.put("fileSize", session.getFileSize());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e);
+        }
+    }
+
+    /**
+     * 取消上传
+     *
+     * 请求方式：DELETE
+     * 请求URL：/api/upload/chunked/{uploadId}
+     *
+     * @param uploadId 上传任务ID
+     * @return JSON响应
+     */
+    @DeleteMapping("/{uploadId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> abort(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            chunkedUploadService.abort(uploadId);
+
+            response.put("success", true);
+            response.put("message", "上传已取消");
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e);
+        }
+    }
+
+    /**
+     * 异常转换为JSON响应：
+     * 参数错误返回400，任务不存在返回404，其它返回500
+     */
+    private ResponseEntity<Map<String, Object>> errorResponse(Map<String, Object> response, Exception e) {
+        response.put("success", false);
+
+        if (e instanceof IllegalArgumentException) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (e instanceof NoSuchElementException) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        log.error("分片上传失败", e);
+        response.put("message", "上传失败：" + e.getMessage());
+        return ResponseEntity.internalServerError().body(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.EducationListItem;
 import com.audrey.homepage.entity.Education;
 import com.audrey.homepage.service.EducationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +19,8 @@ public class EducationController {
     private EducationService educationService;
 
     @GetMapping
-    public ResponseEntity<List<Education>> getAllEducations() {
-        return ResponseEntity.ok(educationService.getAllEducations());
+    public ResponseEntity<List<EducationListItem>> getAllEducations() {
+        return ResponseEntity.ok(educationService.getEducationListItems());
     }
 
     @GetMapping("/{id}")
@@ -30,8 +31,8 @@ public class EducationController {
     }
 
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<Education>> getEducationsByProfessorId(@PathVariable Long professorId) {
-        return ResponseEntity.ok(educationService.getEducationsByProfessorId(professorId));
+    public ResponseEntity<List<EducationListItem>> getEducationsByProfessorId(@PathVariable Long professorId) {
+        return ResponseEntity.ok(educationService.getEducationListItemsByProfessorId(professorId));
     }
 
     @PostMapping
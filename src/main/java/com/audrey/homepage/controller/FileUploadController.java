@@ -5,10 +5,13 @@ import com.audrey.homepage.entity.Professor;
 import com.audrey.homepage.entity.Publication;
 import com.audrey.homepage.entity.TeachingCourse;
 import com.audrey.homepage.service.ContactInfoService;
+import com.audrey.homepage.service.ImageDerivativeService;
+import com.audrey.homepage.service.PdfTextExtractionService;
 import com.audrey.homepage.service.ProfessorService;
 import com.audrey.homepage.service.PublicationService;
 import com.audrey.homepage.service.TeachingCourseService;
 import com.audrey.homepage.util.FileUploadUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -27,6 +30,7 @@ import java.util.Map;
  * 3. 处理论文PDF上传和删除
  * 4. 处理微信二维码上传和删除
  * 5. 处理课程资料上传和删除
+ * 6. 论文PDF、课程资料的流式上传（请求体直接写入上传目录）
  *
  * @author Claude
  * @date 2026-01-20
@@ -47,6 +51,12 @@ public class FileUploadController {
     @Autowired
     private TeachingCourseService teachingCourseService;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private PdfTextExtractionService pdfTextExtractionService;
+
     /**
      * 上传目录配置
      * 注意：这个路径是相对于项目根目录的
@@ -80,22 +90,25 @@ public class FileUploadController {
             Professor professor = professorService.getProfessorById(professorId)
                     .orElseThrow(() -> new RuntimeException("找不到ID为 " + professorId + " 的教授"));
 
-            // 2. 删除旧头像（如果存在）
-            if (professor.getAvatarUrl() != null && !professor.getAvatarUrl().isEmpty()) {
-                FileUploadUtil.deleteFile(professor.getAvatarUrl());
-            }
+            // 2. 保存新头像（验证失败时旧头像保持不变）
+            String oldAvatarUrl = professor.getAvatarUrl();
+            String avatarUrl = FileUploadUtil.saveFile(file, AVATAR_UPLOAD_DIR);
 
-            // 3. 保存新头像
-            String avatarUrl = FileUploadUtil.saveFile(
-                    file,
-                    AVATAR_UPLOAD_DIR,
-                    String.valueOf(professorId)  // 使用教授ID作为文件名前缀
-            );
-
-            // 4. 更新数据库
+            // 3. 更新数据库
             professor.setAvatarUrl(avatarUrl);
             professorService.saveProfessor(professor);
 
+            // 4. 删除旧头像（如果存在）
+            if (oldAvatarUrl != null && !oldAvatarUrl.isEmpty()) {
+                if (FileUploadUtil.deleteFile(oldAvatarUrl)) {
+                    // 头像文件可能被多处共用，文件真正删除时才删除缩略图
+                    imageDerivativeService.deleteDerivatives(oldAvatarUrl);
+                }
+            }
+
+            // 后台生成缩略图
+            imageDerivativeService.generateAsync(avatarUrl);
+
             // 5. 返回成功响应
             response.put("success", true);
             response.put("message", "头像上传成功");
@@ -139,7 +152,10 @@ public class FileUploadController {
 
             // 2. 删除文件
             if (professor.getAvatarUrl() != null && !professor.getAvatarUrl().isEmpty()) {
-                FileUploadUtil.deleteFile(professor.getAvatarUrl());
+                if (FileUploadUtil.deleteFile(professor.getAvatarUrl())) {
+                    // 头像文件可能被多处共用，文件真正删除时才删除缩略图
+                    imageDerivativeService.deleteDerivatives(professor.getAvatarUrl());
+                }
             }
 
             // 3. 更新数据库
@@ -180,31 +196,94 @@ public class FileUploadController {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // 1. 验证文件类型
-            if (!file.getContentType().equals("application/pdf")) {
-                throw new IllegalArgumentException("只允许上传PDF格式的文件");
-            }
-
-            // 2. 查找论文
+            // 1. 查找论文
             Publication publication = publicationService.getPublicationById(publicationId)
                     .orElseThrow(() -> new RuntimeException("找不到ID为 " + publicationId + " 的论文"));
 
-            // 3. 删除旧PDF（如果存在）
-            if (publication.getPdfUrl() != null && !publication.getPdfUrl().isEmpty()) {
-                FileUploadUtil.deleteFile(publication.getPdfUrl());
+            // 2. 保存新PDF（根据文件内容验证类型，验证失败时旧PDF保持不变）
+            String oldPdfUrl = publication.getPdfUrl();
+            String pdfUrl = FileUploadUtil.savePdfFile(file, PDF_UPLOAD_DIR);
+
+            // 3. 更新数据库
+            publication.setPdfUrl(pdfUrl);
+            publicationService.savePublication(publication);
+
+            // 4. 删除旧PDF（如果存在）
+            if (oldPdfUrl != null && !oldPdfUrl.isEmpty()) {
+                FileUploadUtil.deleteFile(oldPdfUrl);
             }
 
-            // 4. 保存新PDF
-            String pdfUrl = FileUploadUtil.savePdfFile(
-                    file,
-                    PDF_UPLOAD_DIR,
-                    "publication_" + publicationId  // 使用论文ID作为文件名前缀
-            );
+            // 5. 在后台提取PDF全文（用于论文搜索，不等待完成）
+            pdfTextExtractionService.extractAsync(publicationId, pdfUrl);
+
+            // 6. 返回成功响应
+            response.put("success", true);
+            response.put("message", "PDF上传成功");
+            response.put("pdfUrl", pdfUrl);
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            // 文件验证失败
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
+        } catch (Exception e) {
+            // 其他异常
+            e.printStackTrace();
+            response.put("success", false);
+            response.put("message", "上传失败：" + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * 流式上传论文PDF
+     *
+     * 请求方式：PUT
+     * 请求URL：/api/upload/stream/pdf/{publicationId}?filename=xxx.pdf
+     * 请求体：文件内容（不使用 multipart/form-data）
+     *
+     * 与 /api/upload/pdf/{publicationId} 相比，请求体直接写入上传目录，
+     * 不经过 multipart 临时文件；边写入边校验文件签名和大小
+     *
+     * @param publicationId 论文ID
+     * @param filename 原始文件名
+     * @param request HTTP请求（读取请求体）
+     * @return JSON响应（成功或失败信息）
+     */
+    @PutMapping("/stream/pdf/{publicationId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> streamPdf(
+            @PathVariable Long publicationId,
+            @RequestParam("filename") String filename,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            // 1. 查找论文
+            Publication publication = publicationService.getPublicationById(publicationId)
+                    .orElseThrow(() -> new RuntimeException("找不到ID为 " + publicationId + " 的论文"));
+
+            // 2. 保存新PDF（校验失败时不影响旧PDF）
+            String oldPdfUrl = publication.getPdfUrl();
+            String pdfUrl = FileUploadUtil.savePdfStream(
+                    request.getInputStream(), request.getContentLengthLong(), filename, PDF_UPLOAD_DIR);
 
-            // 5. 更新数据库
+            // 3. 更新数据库
             publication.setPdfUrl(pdfUrl);
             publicationService.savePublication(publication);
 
+            // 4. 删除旧PDF（如果存在；数据库更新失败时旧PDF保持可用）
+            if (oldPdfUrl != null && !oldPdfUrl.isEmpty()) {
+                FileUploadUtil.deleteFile(oldPdfUrl);
+            }
+
+            // 5. 在后台提取PDF全文（用于论文搜索，不等待完成）
+            pdfTextExtractionService.extractAsync(publicationId, pdfUrl);
+
             // 6. 返回成功响应
             response.put("success", true);
             response.put("message", "PDF上传成功");
@@ -293,22 +372,24 @@ public class FileUploadController {
             ContactInfo contactInfo = contactInfoService.getContactInfoById(contactInfoId)
                     .orElseThrow(() -> new RuntimeException("找不到ID为 " + contactInfoId + " 的联系信息"));
 
-            // 2. 删除旧二维码（如果存在）
-            if (contactInfo.getWechatQrcode() != null && !contactInfo.getWechatQrcode().isEmpty()) {
-                FileUploadUtil.deleteFile(contactInfo.getWechatQrcode());
-            }
+            // 2. 保存新二维码（验证失败时旧二维码保持不变）
+            String oldQrcodeUrl = contactInfo.getWechatQrcode();
+            String qrcodeUrl = FileUploadUtil.saveFile(file, QRCODE_UPLOAD_DIR);
 
-            // 3. 保存新二维码
-            String qrcodeUrl = FileUploadUtil.saveFile(
-                    file,
-                    QRCODE_UPLOAD_DIR,
-                    "qrcode_" + contactInfoId  // 使用联系信息ID作为文件名前缀
-            );
-
-            // 4. 更新数据库
+            // 3. 更新数据库
             contactInfo.setWechatQrcode(qrcodeUrl);
             contactInfoService.saveContactInfo(contactInfo);
 
+            // 4. 删除旧二维码（如果存在）
+            if (oldQrcodeUrl != null && !oldQrcodeUrl.isEmpty()) {
+                if (FileUploadUtil.deleteFile(oldQrcodeUrl)) {
+                    imageDerivativeService.deleteDerivatives(oldQrcodeUrl);
+                }
+            }
+
+            // 后台生成缩略图
+            imageDerivativeService.generateAsync(qrcodeUrl);
+
             // 5. 返回成功响应
             response.put("success", true);
             response.put("message", "二维码上传成功");
@@ -352,7 +433,9 @@ public class FileUploadController {
 
             // 2. 删除文件
             if (contactInfo.getWechatQrcode() != null && !contactInfo.getWechatQrcode().isEmpty()) {
-                FileUploadUtil.deleteFile(contactInfo.getWechatQrcode());
+                if (FileUploadUtil.deleteFile(contactInfo.getWechatQrcode())) {
+                    imageDerivativeService.deleteDerivatives(contactInfo.getWechatQrcode());
+                }
             }
 
             // 3. 更新数据库
@@ -393,34 +476,14 @@ public class FileUploadController {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // 1. 验证文件类型
-            String contentType = file.getContentType();
-            if (contentType == null || (!contentType.equals("application/pdf")
-                    && !contentType.equals("application/vnd.ms-powerpoint")
-                    && !contentType.equals("application/vnd.openxmlformats-officedocument.presentationml.presentation")
-                    && !contentType.equals("application/msword")
-                    && !contentType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document"))) {
-                throw new IllegalArgumentException("只允许上传PDF、PPT、Word格式的文件");
-            }
-
-            // 2. 验证文件大小（20MB）
-            final long MAX_SIZE = 20 * 1024 * 1024;
-            if (file.getSize() > MAX_SIZE) {
-                throw new IllegalArgumentException("文件大小不能超过20MB");
-            }
-
-            // 3. 查找课程
+            // 1. 查找课程
             TeachingCourse course = teachingCourseService.getTeachingCourseById(courseId)
                     .orElseThrow(() -> new RuntimeException("找不到ID为 " + courseId + " 的课程"));
 
-            // 4. 保存文件
-            String fileUrl = FileUploadUtil.saveMaterialFile(
-                    file,
-                    MATERIALS_UPLOAD_DIR,
-                    "course_" + courseId  // 使用课程ID作为文件名前缀
-            );
+            // 2. 保存文件（类型和大小由 FileUploadUtil 验证）
+            String fileUrl = FileUploadUtil.saveMaterialFile(file, MATERIALS_UPLOAD_DIR);
 
-            // 5. 返回成功响应（不更新数据库，由前端JavaScript处理）
+            // 3. 返回成功响应（不更新数据库，由前端JavaScript处理）
             response.put("success", true);
             response.put("message", "资料上传成功");
             response.put("fileUrl", fileUrl);
@@ -444,6 +507,61 @@ public class FileUploadController {
         }
     }
 
+    /**
+     * 流式上传课程资料
+     *
+     * 请求方式：PUT
+     * 请求URL：/api/upload/stream/material/{courseId}?filename=xxx.pptx
+     * 请求体：文件内容（不使用 multipart/form-data）
+     *
+     * 请求体直接写入上传目录，不受 multipart 大小限制，最大20MB
+     *
+     * @param courseId 课程ID
+     * @param filename 原始文件名
+     * @param request HTTP请求（读取请求体）
+     * @return JSON响应（成功或失败信息）
+     */
+    @PutMapping("/stream/material/{courseId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> streamMaterial(
+            @PathVariable Long courseId,
+            @RequestParam("filename") String filename,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            // 1. 查找课程
+            TeachingCourse course = teachingCourseService.getTeachingCourseById(courseId)
+                    .orElseThrow(() -> new RuntimeException("找不到ID为 " + courseId + " 的课程"));
+
+            // 2. 保存文件（边写入边校验文件签名和大小）
+            String fileUrl = FileUploadUtil.saveMaterialStream(
+                    request.getInputStream(), request.getContentLengthLong(), filename, MATERIALS_UPLOAD_DIR);
+
+            // 3. 返回成功响应（不更新数据库，由前端JavaScript处理）
+            response.put("success", true);
+            response.put("message", "资料上传成功");
+            response.put("fileUrl", fileUrl);
+            response.put("fileName", filename);
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            // 文件验证失败
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
+        } catch (Exception e) {
+            // 其他异常
+            e.printStackTrace();
+            response.put("success", false);
+            response.put("message", "上传失败：" + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * 删除课程资料
      *
@@ -1,5 +1,9 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.CursorPage;
+import com.audrey.homepage.dto.ProfessorCardView;
+import com.audrey.homepage.dto.ProfessorOptionView;
+import com.audrey.homepage.dto.PublicationFacets;
 import com.audrey.homepage.entity.Publication;
 import com.audrey.homepage.entity.Publication.PublicationType;
 import com.audrey.homepage.service.*;
@@ -11,6 +15,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 页面控制器
  *
@@ -48,9 +58,10 @@ public class HomeController {
      */
     @GetMapping("/")
     public String home(Model model) {
-        // 获取所有教授列表
-        model.addAttribute("professors", professorService.getAllProfessors());
-        model.addAttribute("professorCount", professorService.count());
+        // 获取教授卡片列表（只查询卡片上显示的列）
+        List<ProfessorCardView> professors = professorService.getProfessorCards();
+        model.addAttribute("professors", professors);
+        model.addAttribute("professorCount", professors.size());
         return "index";  // 返回 templates/index.html
     }
 
@@ -60,7 +71,7 @@ public class HomeController {
      */
     @GetMapping("/professor/{id}")
     public String professorDetail(@PathVariable Long id, Model model) {
-        return professorService.getProfessorById(id)
+        return professorService.getProfessorDetailById(id)
                 .map(professor -> {
                     model.addAttribute("professor", professor);
                     // 获取联系方式信息
@@ -80,6 +91,9 @@ public class HomeController {
         return publicationService.getPublicationById(id)
                 .map(publication -> {
                     model.addAttribute("publication", publication);
+                    // PDF中提取的摘要（有则显示）
+                    publicationService.getPublicationAbstract(publication)
+                            .ifPresent(abstractText -> model.addAttribute("abstractText", abstractText));
                     return "publication-detail";  // 返回 templates/publication-detail.html
                 })
                 .orElse("error");
@@ -136,6 +150,8 @@ public class HomeController {
      * @param type 类型筛选（可选）
      * @param page 页码（默认0）
      * @param size 每页数量（默认20）
+     * @param cursor 游标（可选）；传入该参数（第一页传空字符串）时使用游标分页，
+     *               不执行OFFSET和COUNT查询，适合深度翻页
      */
     @GetMapping("/publications/search")
     public String searchPublications(
@@ -144,6 +160,7 @@ public class HomeController {
             @RequestParam(value = "type", required = false) String typeStr,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
             Model model) {
 
         // 转换类型字符串为枚举
@@ -156,20 +173,58 @@ public class HomeController {
             }
         }
 
-        // 执行搜索
-        Page<Publication> publicationsPage = publicationService.searchPublications(keyword, year, type, page, size);
+        if (cursor != null) {
+            // 游标分页模式
+            CursorPage<Publication> cursorPage;
+            try {
+                cursorPage = publicationService.searchPublicationsByCursor(keyword, year, type, cursor, size, false);
+            } catch (IllegalArgumentException e) {
+                // 无效的游标，从第一页开始
+                cursorPage = publicationService.searchPublicationsByCursor(keyword, year, type, null, size, false);
+            }
+            model.addAttribute("cursorMode", true);
+            model.addAttribute("publications", cursorPage.content());
+            model.addAttribute("nextCursor", cursorPage.nextCursor());
+        } else {
+            // 执行搜索
+            Page<Publication> publicationsPage = publicationService.searchPublications(keyword, year, type, page, size);
+
+            model.addAttribute("cursorMode", false);
+            model.addAttribute("publications", publicationsPage.getContent());
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", publicationsPage.getTotalPages());
+            model.addAttribute("totalItems", publicationsPage.getTotalElements());
+        }
 
         // 传递数据到视图
-        model.addAttribute("publications", publicationsPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", publicationsPage.getTotalPages());
-        model.addAttribute("totalItems", publicationsPage.getTotalElements());
+        model.addAttribute("pageSize", size);
         model.addAttribute("keyword", keyword != null ? keyword : "");
         model.addAttribute("selectedYear", year);
         model.addAttribute("selectedType", typeStr);
 
-        // 传递所有年份列表（用于筛选下拉框）
-        model.addAttribute("allYears", publicationService.getAllYears());
+        // 分面统计：当前关键词下各年份、各类型、各教授的论文数（一次查询）
+        PublicationFacets facets = publicationService.getFacets(keyword);
+        model.addAttribute("facets", facets);
+
+        // 年份下拉框：有论文的年份（已选中的年份即使没有论文也保留）
+        List<Integer> years = new ArrayList<>(facets.years().keySet());
+        if (year != null && !years.contains(year)) {
+            years.add(year);
+            years.sort(Comparator.reverseOrder());
+        }
+        model.addAttribute("allYears", years);
+
+        // 类型计数（key：类型名称，方便模板按名称取值）
+        Map<String, Long> typeCounts = new HashMap<>();
+        facets.types().forEach((t, count) -> typeCounts.put(t.name(), count));
+        model.addAttribute("typeCounts", typeCounts);
+
+        // 教授名称（分面统计只有教授ID）
+        Map<Long, String> professorNames = new HashMap<>();
+        for (ProfessorOptionView professor : professorService.getProfessorOptions()) {
+            professorNames.put(professor.getId(), professor.getName());
+        }
+        model.addAttribute("professorNames", professorNames);
 
         // 传递所有类型列表
         model.addAttribute("allTypes", PublicationType.values());
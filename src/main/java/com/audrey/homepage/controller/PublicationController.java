@@ -1,13 +1,21 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.CursorPage;
+import com.audrey.homepage.dto.PublicationListItem;
 import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.entity.Publication.PublicationType;
+import com.audrey.homepage.search.PublicationSuggester;
+import com.audrey.homepage.service.DataExportService;
 import com.audrey.homepage.service.PublicationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Publication控制器
@@ -20,14 +28,87 @@ public class PublicationController {
     @Autowired
     private PublicationService publicationService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
     /**
      * 获取所有论文
      * GET /api/publications
+     * 返回论文列表项（id、教授ID、标题、作者、年份、期刊、类型、DOI），不返回论文实体
+     *
+     * 传入 cursor 参数时改为游标分页（第一页传空字符串）：
+     * GET /api/publications?cursor=&size=20
+     * GET /api/publications?cursor=MjAyNDoxMjM&size=20&keyword=learning&year=2024&type=JOURNAL
+     * 返回 {"content": [...], "nextCursor": "...", "hasNext": true, "totalEstimate": null}
+     * includeTotal=true 时返回总数（无筛选条件时为估算值）
      */
     @GetMapping
-    public ResponseEntity<List<Publication>> getAllPublications() {
-        List<Publication> publications = publicationService.getAllPublications();
-        return ResponseEntity.ok(publications);
+    public ResponseEntity<?> getAllPublications(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "year", required = false) Integer year,
+            @RequestParam(value = "type", required = false) String typeStr,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+
+        if (cursor == null) {
+            List<PublicationListItem> publications = publicationService.getPublicationListItems();
+            return ResponseEntity.ok(publications);
+        }
+
+        PublicationType type = null;
+        if (typeStr != null && !typeStr.isEmpty()) {
+            try {
+                type = PublicationType.valueOf(typeStr);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        try {
+            CursorPage<Publication> page = publicationService.searchPublicationsByCursor(
+                    keyword, year, type, cursor, size, includeTotal);
+            List<PublicationListItem> content = page.content().stream().map(PublicationListItem::from).toList();
+            return ResponseEntity.ok(new CursorPage<>(content, page.nextCursor(), page.hasNext(), page.totalEstimate()));
+        } catch (IllegalArgumentException e) {
+            // 无效的游标
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 流式导出所有论文（夜间同步等需要拉取全部数据时使用）
+     * GET /api/publications/export?format=ndjson（默认，每行一个JSON对象）
+     * GET /api/publications/export?format=json（JSON数组）
+     * 边读数据库边写响应，不在内存中构建完整列表
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPublications(
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatStr) {
+        DataExportService.Format format;
+        try {
+            format = DataExportService.Format.parse(formatStr);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(out -> dataExportService.exportPublications(out, format));
+    }
+
+    /**
+     * 搜索框自动补全（每次按键调用）
+     * GET /api/publications/suggest?q=deep&limit=8
+     * 返回 [{"text": "Deep Learning", "type": "TITLE", "count": 1}, ...]
+     * 结果来自内存前缀树，允许浏览器缓存1分钟
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PublicationSuggester.Suggestion>> suggest(
+            @RequestParam(value = "q", defaultValue = "") String q,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.MINUTES))
+                .body(publicationService.suggest(q, limit));
     }
 
     /**
@@ -44,10 +125,11 @@ public class PublicationController {
     /**
      * 根据教授ID获取所有论文
      * GET /api/publications/professor/1
+     * 返回论文列表项，按年份降序排序
      */
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<Publication>> getPublicationsByProfessorId(@PathVariable Long professorId) {
-        List<Publication> publications = publicationService.getPublicationsByProfessorIdOrderByYear(professorId);
+    public ResponseEntity<List<PublicationListItem>> getPublicationsByProfessorId(@PathVariable Long professorId) {
+        List<PublicationListItem> publications = publicationService.getPublicationListItemsByProfessorId(professorId);
         return ResponseEntity.ok(publications);
     }
 
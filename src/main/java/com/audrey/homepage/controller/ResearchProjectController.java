@@ -1,11 +1,14 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.ResearchProjectListItem;
 import com.audrey.homepage.entity.ResearchProject;
+import com.audrey.homepage.service.DataExportService;
 import com.audrey.homepage.service.ResearchProjectService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +20,32 @@ public class ResearchProjectController {
     @Autowired
     private ResearchProjectService researchProjectService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
     @GetMapping
-    public ResponseEntity<List<ResearchProject>> getAllProjects() {
-        return ResponseEntity.ok(researchProjectService.getAllProjects());
+    public ResponseEntity<List<ResearchProjectListItem>> getAllProjects() {
+        return ResponseEntity.ok(researchProjectService.getProjectListItems());
+    }
+
+    /**
+     * 流式导出所有科研项目（夜间同步等需要拉取全部数据时使用）
+     * GET /api/research-projects/export?format=ndjson（默认，每行一个JSON对象）
+     * GET /api/research-projects/export?format=json（JSON数组）
+     * 边读数据库边写响应，不在内存中构建完整列表
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatStr) {
+        DataExportService.Format format;
+        try {
+            format = DataExportService.Format.parse(formatStr);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(out -> dataExportService.exportResearchProjects(out, format));
     }
 
     @GetMapping("/{id}")
@@ -30,8 +56,8 @@ public class ResearchProjectController {
     }
 
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<ResearchProject>> getProjectsByProfessorId(@PathVariable Long professorId) {
-        return ResponseEntity.ok(researchProjectService.getProjectsByProfessorId(professorId));
+    public ResponseEntity<List<ResearchProjectListItem>> getProjectsByProfessorId(@PathVariable Long professorId) {
+        return ResponseEntity.ok(researchProjectService.getProjectListItemsByProfessorId(professorId));
     }
 
     @PostMapping
@@ -1,11 +1,14 @@
 package com.audrey.homepage.controller;
 
+import com.audrey.homepage.dto.TeachingCourseListItem;
 import com.audrey.homepage.entity.TeachingCourse;
+import com.audrey.homepage.service.DataExportService;
 import com.audrey.homepage.service.TeachingCourseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +20,32 @@ public class TeachingCourseController {
     @Autowired
     private TeachingCourseService teachingCourseService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
     @GetMapping
-    public ResponseEntity<List<TeachingCourse>> getAllCourses() {
-        return ResponseEntity.ok(teachingCourseService.getAllCourses());
+    public ResponseEntity<List<TeachingCourseListItem>> getAllCourses() {
+        return ResponseEntity.ok(teachingCourseService.getCourseListItems());
+    }
+
+    /**
+     * 流式导出所有教学课程（夜间同步等需要拉取全部数据时使用）
+     * GET /api/teaching-courses/export?format=ndjson（默认，每行一个JSON对象）
+     * GET /api/teaching-courses/export?format=json（JSON数组）
+     * 边读数据库边写响应，不在内存中构建完整列表
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses(
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatStr) {
+        DataExportService.Format format;
+        try {
+            format = DataExportService.Format.parse(formatStr);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(out -> dataExportService.exportTeachingCourses(out, format));
     }
 
     @GetMapping("/{id}")
@@ -30,8 +56,8 @@ public class TeachingCourseController {
     }
 
     @GetMapping("/professor/{professorId}")
-    public ResponseEntity<List<TeachingCourse>> getCoursesByProfessorId(@PathVariable Long professorId) {
-        return ResponseEntity.ok(teachingCourseService.getCoursesByProfessorId(professorId));
+    public ResponseEntity<List<TeachingCourseListItem>> getCoursesByProfessorId(@PathVariable Long professorId) {
+        return ResponseEntity.ok(teachingCourseService.getCourseListItemsByProfessorId(professorId));
     }
 
     @PostMapping
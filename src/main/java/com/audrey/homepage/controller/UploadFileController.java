@@ -0,0 +1,246 @@
+package com.audrey.homepage.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 上传文件访问控制器
+ *
+ * 功能：
+ * 1. 提供 /uploads/** 下文件的访问（头像、PDF、二维码、课程资料等）
+ * 2. 支持 Range 请求（断点续传、浏览器边下载边显示PDF）
+ * 3. 文件名为内容摘要（旧文件为UUID），内容不会变化，返回一年的 immutable 缓存头
+ * 4. 存在 .br / .gz 预压缩文件且浏览器支持时，直接返回压缩版本
+ * 5. Tomcat 支持 sendfile 时由 Tomcat 零拷贝发送；否则用 FileChannel.transferTo 发送，
+ *    不在堆内存中缓冲整个文件
+ */
+@Controller
+public class UploadFileController {
+
+    /**
+     * 上传文件根目录（相对于项目根目录）
+     */
+    private static final Path UPLOAD_ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+
+    /**
+     * 文件名为内容摘要（旧文件为UUID），内容不变，可以长期缓存
+     */
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * Tomcat sendfile 相关的请求属性
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * 访问上传的文件
+     * GET /uploads/avatars/1_abc.jpg
+     * GET /uploads/pdfs/publication_1_abc.pdf（支持 Range: bytes=0-1023）
+     */
+    @GetMapping("/uploads/**")
+    public void serveFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 1. 定位文件（防止 ../ 越权访问上传目录以外的文件；以 . 开头的引用计数、临时文件不对外提供）
+        String relativePath = urlPathHelper.getPathWithinApplication(request).substring("/uploads/".length());
+        Path file = UPLOAD_ROOT.resolve(relativePath).normalize();
+        if (!file.startsWith(UPLOAD_ROOT) || isHidden(UPLOAD_ROOT.relativize(file)) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long fileLength = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        // 非Range请求时，优先使用预压缩版本（不同编码的版本ETag不同）
+        Path variant = file;
+        String contentEncoding = null;
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (rangeHeader == null && acceptEncoding != null) {
+            if (acceptEncoding.contains("br") && Files.isRegularFile(siblingOf(file, ".br"))) {
+                variant = siblingOf(file, ".br");
+                contentEncoding = "br";
+            } else if (acceptEncoding.contains("gzip") && Files.isRegularFile(siblingOf(file, ".gz"))) {
+                variant = siblingOf(file, ".gz");
+                contentEncoding = "gzip";
+            }
+        }
+
+        String etag = "\"" + Long.toHexString(fileLength) + "-" + Long.toHexString(lastModified)
+                + (contentEncoding != null ? "-" + contentEncoding : "") + "\"";
+
+        // 2. 缓存头；浏览器带 If-None-Match / If-Modified-Since 且未变化时返回304
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+
+        // 3. Range 请求：只返回请求的部分
+        if (rangeHeader != null && isIfRangeSatisfied(request, etag, lastModified)) {
+            long[] range = parseRange(rangeHeader, fileLength);
+            if (range == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (range.length == 2) {
+                long start = range[0];
+                long length = range[1] - range[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + range[1] + "/" + fileLength);
+                response.setContentLengthLong(length);
+                writeFile(request, response, file, start, length);
+                return;
+            }
+            // 多段Range等不支持的格式：忽略Range，返回完整文件
+        }
+
+        // 4. 完整文件（或其预压缩版本）
+        if (contentEncoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        long length = variant == file ? fileLength : Files.size(variant);
+        response.setContentLengthLong(length);
+        writeFile(request, response, variant, 0, length);
+    }
+
+    /**
+     * 发送文件的 [start, start + length) 部分
+     * HEAD 请求只返回响应头
+     */
+    private void writeFile(HttpServletRequest request, HttpServletResponse response,
+                           Path file, long start, long length) throws IOException {
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        // Tomcat 支持 sendfile：交给 Tomcat 在响应提交后零拷贝发送
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * 解析单段 Range 请求头
+     *
+     * @return {start, end}（包含end）；多段、格式不支持或无效（起始位置大于结束位置）时返回空数组，
+     *         调用方忽略Range返回完整文件（RFC 9110）；起始位置超出文件长度时返回null（416）
+     */
+    private static long[] parseRange(String rangeHeader, long fileLength) {
+        if (!rangeHeader.startsWith("bytes=") || rangeHeader.contains(",")) {
+            return new long[0];
+        }
+        String spec = rangeHeader.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-500：最后500字节
+                long suffixLength = Long.parseLong(spec.substring(1));
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                start = Math.max(0, fileLength - suffixLength);
+                end = fileLength - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                if (dash == spec.length() - 1) {
+                    // bytes=500-：从500字节到文件末尾
+                    end = fileLength - 1;
+                } else {
+                    long last = Long.parseLong(spec.substring(dash + 1));
+                    if (last < start) {
+                        // bytes=500-100：无效的Range，忽略
+                        return new long[0];
+                    }
+                    end = Math.min(last, fileLength - 1);
+                }
+            }
+            if (start >= fileLength) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * If-Range 条件：未携带或与当前文件一致时才按Range返回，否则返回完整文件
+     */
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isHidden(Path relativePath) {
+        for (Path part : relativePath) {
+            if (part.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Path siblingOf(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+}
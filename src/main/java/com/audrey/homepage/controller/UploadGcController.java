@@ -0,0 +1,60 @@
+package com.audrey.homepage.controller;
+
+import com.audrey.homepage.service.UploadGcService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 无用上传文件清理控制器
+ *
+ * 功能：
+ * 1. 查看最近一次清理报告：GET  /admin/upload-gc
+ * 2. 在后台开始清理：      POST /admin/upload-gc?dryRun=true（默认只生成报告，dryRun=false 才删除文件）
+ */
+@RestController
+@RequestMapping("/admin/upload-gc")
+public class UploadGcController {
+
+    @Autowired
+    private UploadGcService uploadGcService;
+
+    /**
+     * 获取最近一次清理报告
+     * GET /admin/upload-gc
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getReport() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("running", uploadGcService.isRunning());
+        response.put("report", uploadGcService.getLastReport());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 在后台开始清理，完成后通过 GET 查看报告
+     * POST /admin/upload-gc?dryRun=false
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "true") boolean dryRun) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (!uploadGcService.startAsync(dryRun)) {
+            response.put("success", false);
+            response.put("message", "清理正在进行中，请稍后查看报告");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        response.put("success", true);
+        response.put("message", dryRun ? "已开始检查无用文件（不删除）" : "已开始清理无用文件");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
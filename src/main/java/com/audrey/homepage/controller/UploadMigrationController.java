@@ -0,0 +1,59 @@
+package com.audrey.homepage.controller;
+
+import com.audrey.homepage.service.UploadLayoutMigrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 上传目录迁移控制器（平铺目录 → 分目录）
+ *
+ * 功能：
+ * 1. 查看最近一次迁移报告：GET  /admin/upload-migration
+ * 2. 在后台开始迁移：      POST /admin/upload-migration
+ */
+@RestController
+@RequestMapping("/admin/upload-migration")
+public class UploadMigrationController {
+
+    @Autowired
+    private UploadLayoutMigrationService uploadLayoutMigrationService;
+
+    /**
+     * 获取最近一次迁移报告
+     * GET /admin/upload-migration
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getReport() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("running", uploadLayoutMigrationService.isRunning());
+        response.put("report", uploadLayoutMigrationService.getLastReport());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 在后台开始迁移，完成后通过 GET 查看报告
+     * POST /admin/upload-migration
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start() {
+        Map<String, Object> response = new HashMap<>();
+
+        if (!uploadLayoutMigrationService.startAsync()) {
+            response.put("success", false);
+            response.put("message", "迁移正在进行中，请稍后查看报告");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        response.put("success", true);
+        response.put("message", "已开始迁移上传目录");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -0,0 +1,25 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Award.AwardLevel;
+
+/**
+ * 奖项列表项（REST 接口返回的奖项列表使用）
+ *
+ * 由构造器表达式查询直接生成，描述只返回纯文本摘要，不加载 description（TEXT）
+ *
+ * @param id 奖项ID
+ * @param professorId 教授ID
+ * @param title 奖项名称
+ * @param organization 颁发机构
+ * @param year 获奖年份
+ * @param level 奖项级别
+ * @param descriptionSummary 描述的纯文本摘要
+ */
+public record AwardListItem(Long id,
+                            Long professorId,
+                            String title,
+                            String organization,
+                            Integer year,
+                            AwardLevel level,
+                            String descriptionSummary) {
+}
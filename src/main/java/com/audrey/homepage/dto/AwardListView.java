@@ -0,0 +1,23 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Award;
+
+/**
+ * 获奖荣誉列表投影（后台获奖荣誉管理页使用）
+ *
+ * 只查询列表上显示的列；奖项描述通常只有一两句话，列表上显示完整描述
+ */
+public interface AwardListView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getOrganization();
+
+    Integer getYear();
+
+    Award.AwardLevel getLevel();
+
+    String getDescription();
+}
@@ -0,0 +1,14 @@
+package com.audrey.homepage.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ *
+ * @param content 当前页数据
+ * @param nextCursor 下一页游标（没有下一页时为null）
+ * @param hasNext 是否还有下一页
+ * @param totalEstimate 总数（可选，未请求时为null；无筛选条件时为数据库统计信息中的估算值）
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, Long totalEstimate) {
+}
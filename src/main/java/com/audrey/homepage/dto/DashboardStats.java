@@ -0,0 +1,23 @@
+package com.audrey.homepage.dto;
+
+import java.util.List;
+
+/**
+ * 后台首页统计数据
+ *
+ * @param professors 每位教授的统计
+ * @param totalProfessors 教授总数
+ * @param totalPublications 论文总数
+ * @param totalEducations 教育背景总数
+ * @param totalProjects 科研项目总数
+ * @param totalCourses 教学课程总数
+ * @param totalAwards 获奖荣誉总数
+ */
+public record DashboardStats(List<ProfessorStatsView> professors,
+                             long totalProfessors,
+                             long totalPublications,
+                             long totalEducations,
+                             long totalProjects,
+                             long totalCourses,
+                             long totalAwards) {
+}
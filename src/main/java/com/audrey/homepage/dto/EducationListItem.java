@@ -0,0 +1,25 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Education.DegreeType;
+
+/**
+ * 教育背景列表项（REST 接口返回的教育背景列表使用）
+ *
+ * 由构造器表达式查询直接生成，教授只返回ID
+ *
+ * @param id 教育背景ID
+ * @param professorId 教授ID
+ * @param degree 学位
+ * @param major 专业
+ * @param university 学校
+ * @param startYear 开始年份
+ * @param endYear 结束年份
+ */
+public record EducationListItem(Long id,
+                                Long professorId,
+                                DegreeType degree,
+                                String major,
+                                String university,
+                                Integer startYear,
+                                Integer endYear) {
+}
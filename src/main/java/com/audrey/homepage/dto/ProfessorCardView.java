@@ -0,0 +1,28 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教授卡片投影（首页教授列表、后台教授列表使用）
+ *
+ * Spring Data JPA 的接口投影：查询时只 SELECT 下面这些列，
+ * 不会加载简介（TEXT）和任何子集合，简介只取保存时生成的纯文本摘要
+ */
+public interface ProfessorCardView {
+
+    Long getId();
+
+    String getName();
+
+    String getTitle();
+
+    String getUniversity();
+
+    String getDepartment();
+
+    String getEmail();
+
+    String getResearchInterests();
+
+    String getAvatarUrl();
+
+    String getBiographySummary();
+}
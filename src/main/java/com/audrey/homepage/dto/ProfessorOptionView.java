@@ -0,0 +1,13 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教授下拉框投影（后台管理页面选择教授时使用）
+ *
+ * 只查询 id 和 name 两列
+ */
+public interface ProfessorOptionView {
+
+    Long getId();
+
+    String getName();
+}
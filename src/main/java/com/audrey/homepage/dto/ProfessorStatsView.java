@@ -0,0 +1,31 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教授统计投影（后台首页使用）
+ *
+ * 教授卡片信息 + 各类数据的条数，一条查询得到全部教授的统计
+ */
+public interface ProfessorStatsView {
+
+    Long getId();
+
+    String getName();
+
+    String getTitle();
+
+    String getUniversity();
+
+    String getDepartment();
+
+    String getEmail();
+
+    Long getPublicationCount();
+
+    Long getEducationCount();
+
+    Long getProjectCount();
+
+    Long getCourseCount();
+
+    Long getAwardCount();
+}
@@ -0,0 +1,50 @@
+package com.audrey.homepage.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 论文列表的游标（keyset分页）
+ *
+ * 论文列表按 year DESC（NULL在前）, id DESC 排序，
+ * 游标记录上一页最后一条论文的 (year, id)，下一页从它之后开始查询，
+ * 不需要 OFFSET，也不需要 COUNT(*)。
+ *
+ * 对外以不透明字符串传递（URL安全的Base64），例如 "MjAyNDoxMjM"
+ *
+ * @param year 上一页最后一条论文的年份（可能为null）
+ * @param id 上一页最后一条论文的ID
+ */
+public record PublicationCursor(Integer year, Long id) {
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = (year != null ? year.toString() : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 从不透明字符串解码
+     *
+     * @param cursor 游标字符串（null或空字符串表示第一页）
+     * @return 游标；第一页返回null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static PublicationCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            String yearPart = raw.substring(0, colon);
+            Integer year = yearPart.isEmpty() ? null : Integer.valueOf(yearPart);
+            Long id = Long.valueOf(raw.substring(colon + 1));
+            return new PublicationCursor(year, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标：" + cursor);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Publication.PublicationType;
+
+/**
+ * 论文导出行（流式导出接口使用，包含论文的全部列）
+ *
+ * 由构造器表达式查询逐行生成，不是托管实体，导出时不会在持久化上下文中累积
+ */
+public record PublicationExportRow(Long id,
+                                   Long professorId,
+                                   String title,
+                                   String authors,
+                                   String journal,
+                                   Integer year,
+                                   String volume,
+                                   String pages,
+                                   String doi,
+                                   String url,
+                                   String pdfUrl,
+                                   PublicationType publicationType) {
+}
@@ -0,0 +1,18 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Publication.PublicationType;
+
+/**
+ * 论文分面统计的一行（接口投影）
+ * 按 年份、类型、教授 分组后的论文数，由 PublicationFacets 汇总为三组计数
+ */
+public interface PublicationFacetRow {
+
+    Integer getPublicationYear();
+
+    PublicationType getPublicationType();
+
+    Long getProfessorId();
+
+    Long getTotal();
+}
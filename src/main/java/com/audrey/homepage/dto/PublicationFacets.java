@@ -0,0 +1,60 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Publication.PublicationType;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 论文搜索的分面统计（当前关键词下，各年份、各类型、各教授的论文数）
+ *
+ * @param years 年份 → 论文数（年份降序）
+ * @param types 类型 → 论文数（按枚举顺序）
+ * @param professors 教授ID → 论文数（论文数降序）
+ */
+public record PublicationFacets(Map<Integer, Long> years,
+                                Map<PublicationType, Long> types,
+                                Map<Long, Long> professors) {
+
+    /**
+     * 逐条累加计数，最后生成不可修改的 PublicationFacets
+     * 年份、类型、教授为空的论文不计入对应的分组
+     */
+    public static final class Counter {
+
+        private final Map<Integer, Long> years = new TreeMap<>(Comparator.reverseOrder());
+        private final Map<PublicationType, Long> types = new EnumMap<>(PublicationType.class);
+        private final Map<Long, Long> professors = new HashMap<>();
+
+        public void add(Integer year, PublicationType type, Long professorId, long count) {
+            if (year != null) {
+                years.merge(year, count, Long::sum);
+            }
+            if (type != null) {
+                types.merge(type, count, Long::sum);
+            }
+            if (professorId != null) {
+                professors.merge(professorId, count, Long::sum);
+            }
+        }
+
+        public void add(PublicationFacetRow row) {
+            add(row.getPublicationYear(), row.getPublicationType(), row.getProfessorId(), row.getTotal());
+        }
+
+        public PublicationFacets build() {
+            Map<Long, Long> byCount = new LinkedHashMap<>();
+            professors.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(e -> byCount.put(e.getKey(), e.getValue()));
+            return new PublicationFacets(Collections.unmodifiableMap(years),
+                    Collections.unmodifiableMap(types), Collections.unmodifiableMap(byCount));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.entity.Publication.PublicationType;
+
+/**
+ * 论文列表项（REST 接口返回的论文列表使用）
+ *
+ * 由构造器表达式查询（SELECT new ...）直接生成，只查询下面这些列；
+ * 教授只返回ID（取外键列，不初始化懒加载的教授代理）
+ *
+ * @param id 论文ID
+ * @param professorId 教授ID
+ * @param title 标题
+ * @param authors 作者
+ * @param year 发表年份
+ * @param journal 期刊/会议
+ * @param publicationType 类型
+ * @param doi DOI
+ */
+public record PublicationListItem(Long id,
+                                  Long professorId,
+                                  String title,
+                                  String authors,
+                                  Integer year,
+                                  String journal,
+                                  PublicationType publicationType,
+                                  String doi) {
+
+    /**
+     * 由已加载的论文实体转换（游标分页结果使用）
+     */
+    public static PublicationListItem from(Publication publication) {
+        Long professorId = publication.getProfessor() == null ? null : publication.getProfessor().getId();
+        return new PublicationListItem(publication.getId(), professorId, publication.getTitle(),
+                publication.getAuthors(), publication.getYear(), publication.getJournal(),
+                publication.getPublicationType(), publication.getDoi());
+    }
+}
@@ -0,0 +1,22 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.ResearchProject.ProjectStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 科研项目导出行（流式导出接口使用，包含项目的全部列）
+ *
+ * 由构造器表达式查询逐行生成，不是托管实体，导出时不会在持久化上下文中累积
+ */
+public record ResearchProjectExportRow(Long id,
+                                       Long professorId,
+                                       String title,
+                                       String description,
+                                       String fundingSource,
+                                       Double fundingAmount,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       ProjectStatus status,
+                                       String images) {
+}
@@ -0,0 +1,31 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.ResearchProject.ProjectStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 科研项目列表项（REST 接口返回的项目列表使用）
+ *
+ * 由构造器表达式查询直接生成，描述只返回纯文本摘要，不加载 description / images（TEXT）
+ *
+ * @param id 项目ID
+ * @param professorId 教授ID
+ * @param title 项目名称
+ * @param fundingSource 资助来源
+ * @param fundingAmount 资助金额
+ * @param startDate 开始日期
+ * @param endDate 结束日期
+ * @param status 项目状态
+ * @param descriptionSummary 描述的纯文本摘要
+ */
+public record ResearchProjectListItem(Long id,
+                                      Long professorId,
+                                      String title,
+                                      String fundingSource,
+                                      Double fundingAmount,
+                                      LocalDate startDate,
+                                      LocalDate endDate,
+                                      ProjectStatus status,
+                                      String descriptionSummary) {
+}
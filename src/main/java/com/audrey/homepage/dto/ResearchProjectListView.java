@@ -0,0 +1,30 @@
+package com.audrey.homepage.dto;
+
+import com.audrey.homepage.entity.ResearchProject;
+
+import java.time.LocalDate;
+
+/**
+ * 科研项目列表投影（后台科研项目管理页使用）
+ *
+ * 只查询列表上显示的列，描述只取保存时生成的纯文本摘要，
+ * 不加载 description / images（TEXT）
+ */
+public interface ResearchProjectListView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getFundingSource();
+
+    Double getFundingAmount();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    ResearchProject.ProjectStatus getStatus();
+
+    String getDescriptionSummary();
+}
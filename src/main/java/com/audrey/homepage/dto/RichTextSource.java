@@ -0,0 +1,14 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 富文本字段（补全纯文本摘要时按ID分批读取）
+ */
+public interface RichTextSource {
+
+    Long getId();
+
+    /**
+     * 富文本（HTML）内容
+     */
+    String getText();
+}
@@ -0,0 +1,18 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教学课程导出行（流式导出接口使用，包含课程的全部列）
+ *
+ * 由构造器表达式查询逐行生成，不是托管实体，导出时不会在持久化上下文中累积
+ */
+public record TeachingCourseExportRow(Long id,
+                                      Long professorId,
+                                      String courseName,
+                                      String courseCode,
+                                      String semester,
+                                      Integer year,
+                                      String description,
+                                      String syllabus,
+                                      String materials,
+                                      Double credits) {
+}
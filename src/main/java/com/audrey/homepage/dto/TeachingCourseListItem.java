@@ -0,0 +1,26 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教学课程列表项（REST 接口返回的课程列表使用）
+ *
+ * 由构造器表达式查询直接生成，描述只返回纯文本摘要，
+ * 不加载 description / syllabus / materials（TEXT）
+ *
+ * @param id 课程ID
+ * @param professorId 教授ID
+ * @param courseName 课程名称
+ * @param courseCode 课程代码
+ * @param semester 学期
+ * @param year 年份
+ * @param credits 学分
+ * @param descriptionSummary 描述的纯文本摘要
+ */
+public record TeachingCourseListItem(Long id,
+                                     Long professorId,
+                                     String courseName,
+                                     String courseCode,
+                                     String semester,
+                                     Integer year,
+                                     Double credits,
+                                     String descriptionSummary) {
+}
@@ -0,0 +1,26 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 教学课程列表投影（后台教学课程管理页使用）
+ *
+ * 只查询列表上显示的列，描述和大纲只取保存时生成的纯文本摘要，
+ * 不加载 description / syllabus / materials（TEXT）
+ */
+public interface TeachingCourseListView {
+
+    Long getId();
+
+    String getCourseName();
+
+    String getCourseCode();
+
+    String getSemester();
+
+    Integer getYear();
+
+    Double getCredits();
+
+    String getDescriptionSummary();
+
+    String getSyllabusSummary();
+}
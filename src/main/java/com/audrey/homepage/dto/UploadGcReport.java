@@ -0,0 +1,30 @@
+package com.audrey.homepage.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 无用上传文件清理报告
+ *
+ * @param dryRun 是否只检查不删除
+ * @param startedAt 开始时间
+ * @param finishedAt 结束时间
+ * @param referencedFiles 数据库中引用的文件数
+ * @param scannedFiles 扫描的文件数
+ * @param recentFiles 上传时间太近而跳过的未引用文件数（可能是尚未保存到表单的上传）
+ * @param orphanFiles 无人引用的文件数
+ * @param orphanBytes 无人引用的文件总大小（字节）
+ * @param deletedFiles 实际删除的文件数（dryRun 时为0）
+ * @param orphans 无人引用的文件URL（最多列出1000个）
+ */
+public record UploadGcReport(boolean dryRun,
+                             Instant startedAt,
+                             Instant finishedAt,
+                             int referencedFiles,
+                             int scannedFiles,
+                             int recentFiles,
+                             int orphanFiles,
+                             long orphanBytes,
+                             int deletedFiles,
+                             List<String> orphans) {
+}
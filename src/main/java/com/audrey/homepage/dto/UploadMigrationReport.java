@@ -0,0 +1,21 @@
+package com.audrey.homepage.dto;
+
+import java.time.Instant;
+
+/**
+ * 上传目录迁移报告（平铺目录 → 分目录）
+ *
+ * @param startedAt 开始时间
+ * @param finishedAt 结束时间
+ * @param movedFiles 迁移的文件数（包括缩略图、预压缩文件）
+ * @param updatedRows 更新URL的数据行数
+ * @param skippedRows 迁移期间被修改、未更新的数据行数
+ * @param missingFiles 数据库中引用但磁盘上不存在的文件数（URL保持不变）
+ */
+public record UploadMigrationReport(Instant startedAt,
+                                    Instant finishedAt,
+                                    int movedFiles,
+                                    int updatedRows,
+                                    int skippedRows,
+                                    int missingFiles) {
+}
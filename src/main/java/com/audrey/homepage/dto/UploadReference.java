@@ -0,0 +1,15 @@
+package com.audrey.homepage.dto;
+
+/**
+ * 上传文件引用（接口投影）
+ * 清理无用上传文件时，按ID分批读取各表中引用的文件URL或JSON
+ */
+public interface UploadReference {
+
+    Long getId();
+
+    /**
+     * 文件URL，或包含文件URL的JSON（课程资料、项目图片）
+     */
+    String getReference();
+}
@@ -1,13 +1,20 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
+import com.audrey.homepage.util.HtmlUtil;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 获奖荣誉实体类
  */
 @Entity
 @Table(name = "award")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "award")
 @Data
 public class Award {
 
@@ -43,6 +50,12 @@ public class Award {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    /**
+     * 奖项描述的纯文本摘要（保存时根据 description 生成，后台列表页面只查询这一列）
+     */
+    @Column(length = 200)
+    private String descriptionSummary;
+
     /**
      * 奖项级别
      */
@@ -50,6 +63,15 @@ public class Award {
     @Column(length = 20)
     private AwardLevel level;
 
+    /**
+     * 保存前重新生成纯文本摘要
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSummaries() {
+        descriptionSummary = HtmlUtil.summarize(description);
+    }
+
     public enum AwardLevel {
         INTERNATIONAL,  // 国际级
         NATIONAL,       // 国家级
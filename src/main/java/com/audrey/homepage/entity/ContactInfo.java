@@ -1,7 +1,10 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 联系方式实体类
@@ -9,6 +12,9 @@ import lombok.Data;
  */
 @Entity
 @Table(name = "contact_info")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contact_info")
 @Data
 public class ContactInfo {
 
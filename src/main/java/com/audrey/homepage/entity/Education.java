@@ -1,13 +1,19 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 教育背景实体类
  */
 @Entity
 @Table(name = "education")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "education")
 @Data
 public class Education {
 
@@ -1,7 +1,12 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
+import com.audrey.homepage.util.HtmlUtil;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,6 +16,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "professor")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor")
 @Data
 public class Professor {
 
@@ -60,6 +68,12 @@ public class Professor {
     @Column(columnDefinition = "TEXT")
     private String biography;
 
+    /**
+     * 个人简介的纯文本摘要（保存时根据 biography 生成，后台列表页面只查询这一列）
+     */
+    @Column(length = 200)
+    private String biographySummary;
+
     /**
      * 头像URL
      * 存储头像图片的路径，如：/uploads/avatars/1_1642567890123.jpg
@@ -71,32 +85,48 @@ public class Professor {
      * 一对多关系：一个教授有多篇论文
      * mappedBy指向Publication类中的professor字段
      * cascade表示级联操作：删除教授时，相关论文也会被删除
-     * fetch = FetchType.EAGER 表示立即加载
+     * fetch = FetchType.LAZY 表示按需加载：列表页和下拉框只查询所需字段（见dto包中的投影接口），
+     * 详情页通过 ProfessorService.getProfessorDetailById 显式加载所有子集合；
+     * 子集合（论文ID列表等）放入二级缓存，集合中的实体也都在二级缓存中，详情页命中缓存时不查询数据库
      */
-    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor_publications")
     private List<Publication> publications = new ArrayList<>();
 
     /**
      * 一对多关系：一个教授有多个教育背景
      */
-    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor_educations")
     private List<Education> educations = new ArrayList<>();
 
     /**
      * 一对多关系：一个教授有多个研究项目
      */
-    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor_research_projects")
     private List<ResearchProject> researchProjects = new ArrayList<>();
 
     /**
      * 一对多关系：一个教授教授多门课程
      */
-    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor_teaching_courses")
     private List<TeachingCourse> teachingCourses = new ArrayList<>();
 
     /**
      * 一对多关系：一个教授有多个奖项
      */
-    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "professor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "professor_awards")
     private List<Award> awards = new ArrayList<>();
+
+    /**
+     * 保存前重新生成纯文本摘要
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSummaries() {
+        biographySummary = HtmlUtil.summarize(biography);
+    }
 }
@@ -1,7 +1,10 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 学术论文/出版物实体类
@@ -9,6 +12,9 @@ import lombok.Data;
  */
 @Entity
 @Table(name = "publication")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "publication")
 @Data
 public class Publication {
 
@@ -0,0 +1,49 @@
+package com.audrey.homepage.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 论文PDF全文实体类
+ * 对应数据库中的publication_text表（与publication表一对一，主键即论文ID）
+ *
+ * 由 PdfTextExtractionService 在后台从PDF中提取，用于论文搜索，摘要显示在论文详情页；
+ * 论文更换PDF后，pdfUrl 与论文当前的PDF不一致的记录视为过期，不参与搜索
+ */
+@Entity
+@Table(name = "publication_text")
+@Data
+public class PublicationText {
+
+    /**
+     * 论文ID（不自动生成）
+     */
+    @Id
+    private Long publicationId;
+
+    /**
+     * 提取文本时论文的PDF文件URL
+     */
+    @Column(length = 500)
+    private String pdfUrl;
+
+    /**
+     * 摘要（从正文中识别，识别不到时为空）
+     */
+    @Column(columnDefinition = "TEXT")
+    private String abstractText;
+
+    /**
+     * PDF正文（超长时截断）
+     */
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    /**
+     * 提取时间
+     */
+    @Column
+    private LocalDateTime extractedAt;
+}
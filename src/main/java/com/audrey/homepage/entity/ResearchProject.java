@@ -1,7 +1,11 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
+import com.audrey.homepage.util.HtmlUtil;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 /**
@@ -9,6 +13,9 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "research_project")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "research_project")
 @Data
 public class ResearchProject {
 
@@ -32,6 +39,12 @@ public class ResearchProject {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    /**
+     * 项目描述的纯文本摘要（保存时根据 description 生成，后台列表页面只查询这一列）
+     */
+    @Column(length = 200)
+    private String descriptionSummary;
+
     /**
      * 资助来源（如：国家自然科学基金）
      */
@@ -71,6 +84,15 @@ public class ResearchProject {
     @Column(columnDefinition = "TEXT")
     private String images;
 
+    /**
+     * 保存前重新生成纯文本摘要
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSummaries() {
+        descriptionSummary = HtmlUtil.summarize(description);
+    }
+
     public enum ProjectStatus {
         ONGOING,    // 进行中
         COMPLETED,  // 已完成
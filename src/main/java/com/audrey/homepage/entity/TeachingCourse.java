@@ -1,13 +1,20 @@
 package com.audrey.homepage.entity;
 
+import com.audrey.homepage.cache.ContentRevisionListener;
+import com.audrey.homepage.util.HtmlUtil;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 教学课程实体类
  */
 @Entity
 @Table(name = "teaching_course")
+@EntityListeners(ContentRevisionListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teaching_course")
 @Data
 public class TeachingCourse {
 
@@ -49,12 +56,24 @@ public class TeachingCourse {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    /**
+     * 课程描述的纯文本摘要（保存时根据 description 生成，后台列表页面只查询这一列）
+     */
+    @Column(length = 200)
+    private String descriptionSummary;
+
     /**
      * 课程大纲（富文本内容）
      */
     @Column(columnDefinition = "TEXT")
     private String syllabus;
 
+    /**
+     * 课程大纲的纯文本摘要（保存时根据 syllabus 生成，后台列表页面只查询这一列）
+     */
+    @Column(length = 200)
+    private String syllabusSummary;
+
     /**
      * 课程资料（JSON格式存储文件列表）
      * 格式示例：[{"name":"lecture1.pdf","url":"/uploads/materials/xxx.pdf","size":1024000}]
@@ -67,4 +86,14 @@ public class TeachingCourse {
      */
     @Column
     private Double credits;
+
+    /**
+     * 保存前重新生成纯文本摘要
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSummaries() {
+        descriptionSummary = HtmlUtil.summarize(description);
+        syllabusSummary = HtmlUtil.summarize(syllabus);
+    }
 }
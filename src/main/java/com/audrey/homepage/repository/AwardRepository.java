@@ -1,7 +1,16 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.AwardListItem;
+import com.audrey.homepage.dto.AwardListView;
+import com.audrey.homepage.dto.RichTextSource;
 import com.audrey.homepage.entity.Award;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,10 +24,52 @@ public interface AwardRepository extends JpaRepository<Award, Long> {
     /**
      * 根据教授ID查询所有奖项
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Award> findByProfessorId(Long professorId);
 
     /**
      * 根据教授ID查询奖项，按年份降序排序
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Award> findByProfessorIdOrderByYearDesc(Long professorId);
+
+    /**
+     * 根据教授ID查询奖项列表（只查询列表上显示的列和纯文本摘要）
+     */
+    List<AwardListView> findListViewsByProfessorIdOrderByYearDesc(Long professorId);
+
+    /**
+     * 按ID分批读取还没有纯文本摘要的奖项描述（补全摘要时使用）
+     */
+    @Query("SELECT a.id AS id, a.description AS text FROM Award a "
+            + "WHERE a.id > :afterId AND a.description IS NOT NULL AND a.descriptionSummary IS NULL ORDER BY a.id")
+    List<RichTextSource> findDescriptionsWithoutSummaryAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 补全奖项描述的纯文本摘要
+     * 只有摘要仍为空时才更新，补全期间保存过的数据（已在保存时生成摘要）保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE Award a SET a.descriptionSummary = :summary WHERE a.id = :id AND a.descriptionSummary IS NULL")
+    int updateDescriptionSummary(@Param("id") Long id, @Param("summary") String summary);
+
+    /**
+     * 查询所有奖项列表项（REST 接口使用，构造器表达式只查询列表项中的列）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.AwardListItem("
+            + "a.id, a.professor.id, a.title, a.organization, a.year, a.level, a.descriptionSummary) "
+            + "FROM Award a "
+            + "ORDER BY a.id")
+    List<AwardListItem> findAllListItems();
+
+    /**
+     * 根据教授ID查询奖项列表项（REST 接口使用）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.AwardListItem("
+            + "a.id, a.professor.id, a.title, a.organization, a.year, a.level, a.descriptionSummary) "
+            + "FROM Award a "
+            + "WHERE a.professor.id = :professorId ORDER BY a.year DESC, a.id DESC")
+    List<AwardListItem> findListItemsByProfessorId(@Param("professorId") Long professorId);
 }
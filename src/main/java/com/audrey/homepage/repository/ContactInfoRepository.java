@@ -1,9 +1,17 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.UploadReference;
 import com.audrey.homepage.entity.ContactInfo;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,6 +23,7 @@ public interface ContactInfoRepository extends JpaRepository<ContactInfo, Long>
     /**
      * 根据教授ID查找联系方式
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<ContactInfo> findByProfessorId(Long professorId);
 
     /**
@@ -26,4 +35,22 @@ public interface ContactInfoRepository extends JpaRepository<ContactInfo, Long>
      * 根据教授ID删除联系方式
      */
     void deleteByProfessorId(Long professorId);
+
+    /**
+     * 按ID分批读取微信二维码URL（清理无用上传文件时使用）
+     * 以ID为游标而不是偏移量分页，扫描期间删除数据不会导致漏读
+     */
+    @Query("SELECT c.id AS id, c.wechatQrcode AS reference FROM ContactInfo c "
+            + "WHERE c.id > :afterId AND c.wechatQrcode IS NOT NULL ORDER BY c.id")
+    List<UploadReference> findWechatQrcodesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 上传目录迁移后更新微信二维码URL
+     * 只有当前值仍为 oldValue 时才更新，迁移期间被修改过的数据保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE ContactInfo c SET c.wechatQrcode = :newValue WHERE c.id = :id AND c.wechatQrcode = :oldValue")
+    int updateWechatQrcode(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
 }
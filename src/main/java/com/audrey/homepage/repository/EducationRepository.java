@@ -1,7 +1,12 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.EducationListItem;
 import com.audrey.homepage.entity.Education;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,10 +20,30 @@ public interface EducationRepository extends JpaRepository<Education, Long> {
     /**
      * 根据教授ID查询所有教育背景
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Education> findByProfessorId(Long professorId);
 
     /**
      * 根据教授ID查询教育背景，按结束年份降序排序
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Education> findByProfessorIdOrderByEndYearDesc(Long professorId);
+
+    /**
+     * 查询所有教育背景列表项（REST 接口使用，构造器表达式只查询列表项中的列）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.EducationListItem("
+            + "e.id, e.professor.id, e.degree, e.major, e.university, e.startYear, e.endYear) "
+            + "FROM Education e "
+            + "ORDER BY e.id")
+    List<EducationListItem> findAllListItems();
+
+    /**
+     * 根据教授ID查询教育背景列表项（REST 接口使用）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.EducationListItem("
+            + "e.id, e.professor.id, e.degree, e.major, e.university, e.startYear, e.endYear) "
+            + "FROM Education e "
+            + "WHERE e.professor.id = :professorId ORDER BY e.endYear DESC, e.id DESC")
+    List<EducationListItem> findListItemsByProfessorId(@Param("professorId") Long professorId);
 }
@@ -1,9 +1,19 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.ProfessorCardView;
+import com.audrey.homepage.dto.ProfessorOptionView;
+import com.audrey.homepage.dto.ProfessorStatsView;
+import com.audrey.homepage.dto.RichTextSource;
+import com.audrey.homepage.dto.UploadReference;
 import com.audrey.homepage.entity.Professor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -42,4 +52,66 @@ public interface ProfessorRepository extends JpaRepository<Professor, Long> {
      * SELECT * FROM professor WHERE university = ? AND department = ?
      */
     java.util.List<Professor> findByUniversityAndDepartment(String university, String department);
+
+    /**
+     * 查询教授卡片列表（只查询卡片上显示的列，不加载子集合）
+     * SELECT id, name, title, ... FROM professor ORDER BY id
+     */
+    java.util.List<ProfessorCardView> findAllCardsByOrderByIdAsc();
+
+    /**
+     * 查询教授下拉框选项（只查询 id 和 name）
+     * SELECT id, name FROM professor ORDER BY id
+     */
+    java.util.List<ProfessorOptionView> findAllOptionsByOrderByIdAsc();
+
+    /**
+     * 查询每位教授的统计数据（后台首页使用）
+     * 一条SQL返回所有教授及其论文、教育背景、项目、课程、荣誉的条数，
+     * 子查询按 professor_id 计数（见 SQL files/add-professor-id-indexes.sql）
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.title AS title, p.university AS university, " +
+            "p.department AS department, p.email AS email, " +
+            "(SELECT COUNT(x) FROM Publication x WHERE x.professor = p) AS publicationCount, " +
+            "(SELECT COUNT(x) FROM Education x WHERE x.professor = p) AS educationCount, " +
+            "(SELECT COUNT(x) FROM ResearchProject x WHERE x.professor = p) AS projectCount, " +
+            "(SELECT COUNT(x) FROM TeachingCourse x WHERE x.professor = p) AS courseCount, " +
+            "(SELECT COUNT(x) FROM Award x WHERE x.professor = p) AS awardCount " +
+            "FROM Professor p ORDER BY p.id")
+    java.util.List<ProfessorStatsView> findProfessorStats();
+
+    /**
+     * 按ID分批读取教授头像URL（清理无用上传文件时使用）
+     * 以ID为游标而不是偏移量分页，扫描期间删除数据不会导致漏读
+     */
+    @Query("SELECT p.id AS id, p.avatarUrl AS reference FROM Professor p "
+            + "WHERE p.id > :afterId AND p.avatarUrl IS NOT NULL ORDER BY p.id")
+    List<UploadReference> findAvatarUrlsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 上传目录迁移后更新教授头像URL
+     * 只有当前值仍为 oldValue 时才更新，迁移期间被修改过的数据保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE Professor p SET p.avatarUrl = :newValue WHERE p.id = :id AND p.avatarUrl = :oldValue")
+    int updateAvatarUrl(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
+
+    /**
+     * 按ID分批读取还没有纯文本摘要的教授简介（补全摘要时使用）
+     */
+    @Query("SELECT p.id AS id, p.biography AS text FROM Professor p "
+            + "WHERE p.id > :afterId AND p.biography IS NOT NULL AND p.biographySummary IS NULL ORDER BY p.id")
+    List<RichTextSource> findBiographiesWithoutSummaryAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 补全教授简介的纯文本摘要
+     * 只有摘要仍为空时才更新，补全期间保存过的数据（已在保存时生成摘要）保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE Professor p SET p.biographySummary = :summary WHERE p.id = :id AND p.biographySummary IS NULL")
+    int updateBiographySummary(@Param("id") Long id, @Param("summary") String summary);
 }
@@ -1,15 +1,23 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.PublicationExportRow;
+import com.audrey.homepage.dto.PublicationFacetRow;
+import com.audrey.homepage.dto.PublicationListItem;
+import com.audrey.homepage.dto.UploadReference;
 import com.audrey.homepage.entity.Publication;
 import com.audrey.homepage.entity.Publication.PublicationType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Publication实体的Repository接口
@@ -17,6 +25,41 @@ import java.util.List;
 @Repository
 public interface PublicationRepository extends JpaRepository<Publication, Long> {
 
+    /**
+     * 论文搜索的关键词条件
+     * 关键词同时搜索PDF全文（publication_text 表中与论文当前PDF一致的记录）
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR " +
+            "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(p.authors) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(p.journal) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "EXISTS (SELECT t.publicationId FROM PublicationText t WHERE t.publicationId = p.id AND " +
+            "t.pdfUrl = p.pdfUrl AND LOWER(t.content) LIKE LOWER(CONCAT('%', :keyword, '%'))))";
+
+    /**
+     * 论文搜索的关键词条件（PostgreSQL原生全文检索版本，见 searchPublicationsFullText）
+     */
+    String FULL_TEXT_KEYWORD_CONDITION = "(p.search_vector @@ plainto_tsquery('simple', :keyword) OR " +
+            "LOWER(p.title) LIKE CONCAT('%', LOWER(:keyword), '%') OR " +
+            "LOWER(p.authors) LIKE CONCAT('%', LOWER(:keyword), '%') OR " +
+            "LOWER(p.journal) LIKE CONCAT('%', LOWER(:keyword), '%') OR " +
+            "EXISTS (SELECT 1 FROM publication_text t WHERE t.publication_id = p.id AND " +
+            "t.pdf_url = p.pdf_url AND LOWER(t.content) LIKE CONCAT('%', LOWER(:keyword), '%')))";
+
+    /**
+     * 论文搜索的筛选条件（PostgreSQL原生全文检索版本：关键词、年份、类型），多个原生查询共用
+     */
+    String FULL_TEXT_SEARCH_CONDITIONS = FULL_TEXT_KEYWORD_CONDITION + " AND " +
+            "(CAST(:year AS INTEGER) IS NULL OR p.year = CAST(:year AS INTEGER)) AND " +
+            "(CAST(:type AS VARCHAR) IS NULL OR p.publication_type = CAST(:type AS VARCHAR))";
+
+    /**
+     * 论文搜索的筛选条件（关键词、年份、类型），多个查询共用
+     */
+    String SEARCH_CONDITIONS = KEYWORD_CONDITION + " AND " +
+            "(:year IS NULL OR p.year = :year) AND " +
+            "(:type IS NULL OR p.publicationType = :type)";
+
     /**
      * 根据教授ID查询所有论文
      * SELECT * FROM publication WHERE professor_id = ?
@@ -56,14 +99,8 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>
      * @param pageable 分页参数
      * @return 分页的论文列表
      */
-    @Query("SELECT p FROM Publication p WHERE " +
-            "(:keyword IS NULL OR :keyword = '' OR " +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.authors) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.journal) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-            "(:year IS NULL OR p.year = :year) AND " +
-            "(:type IS NULL OR p.publicationType = :type) " +
-            "ORDER BY p.year DESC, p.id DESC")
+    @Query("SELECT p FROM Publication p WHERE " + SEARCH_CONDITIONS +
+            " ORDER BY p.year DESC, p.id DESC")
     Page<Publication> searchPublications(
             @Param("keyword") String keyword,
             @Param("year") Integer year,
@@ -72,9 +109,222 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>
     );
 
     /**
-     * 获取所有年份列表（用于筛选器）
-     * 返回按年份降序排列的不重复年份列表
+     * 综合搜索论文（PostgreSQL原生全文检索版本）
+     * 需要先执行 SQL files/add-publication-fulltext-search.sql 创建生成列和GIN索引
+     *
+     * 英文单词走 search_vector 全文检索，中文等子串匹配走三元组索引（LOWER(列) LIKE）
+     * PDF全文走 publication_text 表的三元组索引（SQL files/add-publication-text.sql）
+     * 结果按相关度（ts_rank）降序，其次按年份、ID降序
+     *
+     * @param keyword 关键词（不能为空）
+     * @param year 年份（可选）
+     * @param type 类型名称（可选，如 JOURNAL）
+     * @param pageable 分页参数
+     * @return 分页的论文列表
+     */
+    @Query(value = "SELECT p.* FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS +
+            " ORDER BY ts_rank(p.search_vector, plainto_tsquery('simple', :keyword)) DESC, p.year DESC, p.id DESC",
+            countQuery = "SELECT COUNT(*) FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS,
+            nativeQuery = true)
+    Page<Publication> searchPublicationsFullText(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            Pageable pageable
+    );
+
+    /**
+     * 游标分页：第一页
+     * 排序与 searchPublications 相同（year DESC，NULL在前；id DESC），
+     * 返回List而不是Page，不会执行COUNT查询；pageable只用来限制条数
+     */
+    @Query("SELECT p FROM Publication p WHERE " + SEARCH_CONDITIONS +
+            " ORDER BY p.year DESC NULLS FIRST, p.id DESC")
+    List<Publication> findKeysetFirstPage(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") PublicationType type,
+            Pageable pageable
+    );
+
+    /**
+     * 游标分页：游标所在论文的年份不为空时，查询它之后的论文
+     * WHERE ... AND (year, id) < (:cursorYear, :cursorId)
+     * 行值比较可以直接作为 (year, id) 索引的范围扫描起点；年份为空的论文比较结果为NULL，被排除
+     */
+    @Query("SELECT p FROM Publication p WHERE " + SEARCH_CONDITIONS + " AND " +
+            "(p.year, p.id) < (:cursorYear, :cursorId) " +
+            "ORDER BY p.year DESC NULLS FIRST, p.id DESC")
+    List<Publication> findKeysetPageAfter(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") PublicationType type,
+            @Param("cursorYear") Integer cursorYear,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * 游标分页：游标所在论文的年份为空时（NULL排在最前），查询它之后的论文
+     * WHERE ... AND ((year IS NULL AND id < :cursorId) OR year IS NOT NULL)
+     */
+    @Query("SELECT p FROM Publication p WHERE " + SEARCH_CONDITIONS + " AND " +
+            "((p.year IS NULL AND p.id < :cursorId) OR p.year IS NOT NULL) " +
+            "ORDER BY p.year DESC NULLS FIRST, p.id DESC")
+    List<Publication> findKeysetPageAfterNullYear(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") PublicationType type,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * 统计符合搜索条件的论文数量
+     */
+    @Query("SELECT COUNT(p) FROM Publication p WHERE " + SEARCH_CONDITIONS)
+    long countSearchPublications(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") PublicationType type
+    );
+
+    /**
+     * 游标分页：第一页（PostgreSQL原生全文检索版本，条件与 searchPublicationsFullText 相同）
+     * 与分页搜索返回同样的论文，只是固定按 year DESC, id DESC 排序
+     *
+     * @param keyword 关键词（不能为空）
+     * @param type 类型名称（可选，如 JOURNAL）
+     */
+    @Query(value = "SELECT p.* FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS +
+            " ORDER BY p.year DESC NULLS FIRST, p.id DESC",
+            nativeQuery = true)
+    List<Publication> findKeysetFirstPageFullText(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            Pageable pageable
+    );
+
+    /**
+     * 游标分页：游标所在论文的年份不为空时，查询它之后的论文（PostgreSQL原生全文检索版本）
+     */
+    @Query(value = "SELECT p.* FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS + " AND " +
+            "(p.year, p.id) < (:cursorYear, :cursorId) " +
+            "ORDER BY p.year DESC NULLS FIRST, p.id DESC",
+            nativeQuery = true)
+    List<Publication> findKeysetPageAfterFullText(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            @Param("cursorYear") Integer cursorYear,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * 游标分页：游标所在论文的年份为空时，查询它之后的论文（PostgreSQL原生全文检索版本）
+     */
+    @Query(value = "SELECT p.* FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS + " AND " +
+            "((p.year IS NULL AND p.id < :cursorId) OR p.year IS NOT NULL) " +
+            "ORDER BY p.year DESC NULLS FIRST, p.id DESC",
+            nativeQuery = true)
+    List<Publication> findKeysetPageAfterNullYearFullText(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * 统计符合搜索条件的论文数量（PostgreSQL原生全文检索版本）
+     */
+    @Query(value = "SELECT COUNT(*) FROM publication p WHERE " + FULL_TEXT_SEARCH_CONDITIONS,
+            nativeQuery = true)
+    long countSearchPublicationsFullText(
+            @Param("keyword") String keyword,
+            @Param("year") Integer year,
+            @Param("type") String type
+    );
+
+    /**
+     * 分面统计：符合关键词条件的论文按 年份、类型、教授 分组计数（一条GROUP BY查询）
+     * 不应用年份、类型筛选，页面上可以看到切换筛选条件后的论文数
+     *
+     * @param keyword 关键词（可选）
+     * @return 每个 (年份, 类型, 教授) 组合一行
+     */
+    @Query("SELECT p.year AS publicationYear, p.publicationType AS publicationType, " +
+            "p.professor.id AS professorId, COUNT(p) AS total FROM Publication p WHERE " + KEYWORD_CONDITION +
+            " GROUP BY p.year, p.publicationType, p.professor.id")
+    List<PublicationFacetRow> countFacets(@Param("keyword") String keyword);
+
+    /**
+     * 分面统计（PostgreSQL原生全文检索版本，条件与 searchPublicationsFullText 相同）
+     *
+     * @param keyword 关键词（不能为空）
+     * @return 每个 (年份, 类型, 教授) 组合一行
+     */
+    @Query(value = "SELECT p.year AS publicationYear, p.publication_type AS publicationType, " +
+            "p.professor_id AS professorId, COUNT(*) AS total FROM publication p WHERE " +
+            FULL_TEXT_KEYWORD_CONDITION + " GROUP BY p.year, p.publication_type, p.professor_id",
+            nativeQuery = true)
+    List<PublicationFacetRow> countFacetsFullText(@Param("keyword") String keyword);
+
+    /**
+     * 论文总数的估算值（读取PostgreSQL统计信息，不扫描表）
+     * 按当前 search_path 解析表名，其它schema中的同名表不影响结果；
+     * 表从未执行过 ANALYZE 时返回 -1
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('publication')",
+            nativeQuery = true)
+    Long estimatePublicationCount();
+
+    /**
+     * 按ID分批读取论文PDF URL（清理无用上传文件时使用）
+     * 以ID为游标而不是偏移量分页，扫描期间删除数据不会导致漏读
+     */
+    @Query("SELECT p.id AS id, p.pdfUrl AS reference FROM Publication p "
+            + "WHERE p.id > :afterId AND p.pdfUrl IS NOT NULL ORDER BY p.id")
+    List<UploadReference> findPdfUrlsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 上传目录迁移后更新论文PDF URL
+     * 只有当前值仍为 oldValue 时才更新，迁移期间被修改过的数据保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE Publication p SET p.pdfUrl = :newValue WHERE p.id = :id AND p.pdfUrl = :oldValue")
+    int updatePdfUrl(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
+
+    /**
+     * 查询所有论文列表项（REST 接口使用，构造器表达式只查询列表项中的列）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.PublicationListItem("
+            + "p.id, p.professor.id, p.title, p.authors, p.year, p.journal, p.publicationType, p.doi) "
+            + "FROM Publication p "
+            + "ORDER BY p.id")
+    List<PublicationListItem> findAllListItems();
+
+    /**
+     * 根据教授ID查询论文列表项（REST 接口使用）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.PublicationListItem("
+            + "p.id, p.professor.id, p.title, p.authors, p.year, p.journal, p.publicationType, p.doi) "
+            + "FROM Publication p "
+            + "WHERE p.professor.id = :professorId ORDER BY p.year DESC, p.id DESC")
+    List<PublicationListItem> findListItemsByProfessorId(@Param("professorId") Long professorId);
+
+    /**
+     * 按ID顺序流式读取所有论文（导出接口使用）
+     * 数据库游标每次取 500 行，调用方须在只读事务中消费并关闭 Stream
      */
-    @Query("SELECT DISTINCT p.year FROM Publication p WHERE p.year IS NOT NULL ORDER BY p.year DESC")
-    List<Integer> findAllDistinctYears();
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.audrey.homepage.dto.PublicationExportRow("
+            + "p.id, p.professor.id, p.title, p.authors, p.journal, p.year, p.volume, p.pages, "
+            + "p.doi, p.url, p.pdfUrl, p.publicationType) "
+            + "FROM Publication p ORDER BY p.id")
+    Stream<PublicationExportRow> streamAllForExport();
 }
@@ -0,0 +1,48 @@
+package com.audrey.homepage.repository;
+
+import com.audrey.homepage.entity.PublicationText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PublicationText实体的Repository接口
+ */
+@Repository
+public interface PublicationTextRepository extends JpaRepository<PublicationText, Long> {
+
+    /**
+     * 查询有PDF但还没有提取全文（或PDF已更换）的论文ID
+     */
+    @Query("SELECT p.id FROM Publication p WHERE p.pdfUrl IS NOT NULL AND p.pdfUrl <> '' AND NOT EXISTS " +
+            "(SELECT t.publicationId FROM PublicationText t WHERE t.publicationId = p.id AND t.pdfUrl = p.pdfUrl) " +
+            "ORDER BY p.id")
+    List<Long> findPublicationIdsWithoutText();
+
+    /**
+     * 查询论文的摘要（只查询摘要列，不加载正文；PDF已更换的过期记录不返回）
+     */
+    @Query("SELECT t.abstractText FROM PublicationText t WHERE t.publicationId = :id AND t.pdfUrl = :pdfUrl")
+    Optional<String> findAbstractText(@Param("id") Long id, @Param("pdfUrl") String pdfUrl);
+
+    /**
+     * 删除某个教授全部论文的全文（删除教授前调用，论文随教授级联删除）
+     */
+    @Modifying
+    @Query("DELETE FROM PublicationText t WHERE t.publicationId IN " +
+            "(SELECT p.id FROM Publication p WHERE p.professor.id = :professorId)")
+    int deleteByProfessorId(@Param("professorId") Long professorId);
+
+    /**
+     * 改写全文记录的PDF地址（上传目录迁移使用，与论文的 pdfUrl 在同一事务中改写）
+     * 只有地址仍为旧值时才更新，返回更新的行数
+     */
+    @Modifying
+    @Query("UPDATE PublicationText t SET t.pdfUrl = :newValue WHERE t.publicationId = :id AND t.pdfUrl = :oldValue")
+    int updatePdfUrl(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
+}
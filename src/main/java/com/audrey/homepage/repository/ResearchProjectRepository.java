@@ -1,11 +1,23 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.ResearchProjectExportRow;
+import com.audrey.homepage.dto.ResearchProjectListItem;
+import com.audrey.homepage.dto.ResearchProjectListView;
+import com.audrey.homepage.dto.RichTextSource;
+import com.audrey.homepage.dto.UploadReference;
 import com.audrey.homepage.entity.ResearchProject;
 import com.audrey.homepage.entity.ResearchProject.ProjectStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * ResearchProject实体的Repository接口
@@ -16,15 +28,87 @@ public interface ResearchProjectRepository extends JpaRepository<ResearchProject
     /**
      * 根据教授ID查询所有研究项目
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<ResearchProject> findByProfessorId(Long professorId);
 
     /**
      * 根据教授ID和项目状态查询
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<ResearchProject> findByProfessorIdAndStatus(Long professorId, ProjectStatus status);
 
     /**
      * 根据教授ID查询项目，按开始日期降序排序
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<ResearchProject> findByProfessorIdOrderByStartDateDesc(Long professorId);
+
+    /**
+     * 按ID分批读取项目图片JSON（清理无用上传文件时使用）
+     * 以ID为游标而不是偏移量分页，扫描期间删除数据不会导致漏读
+     */
+    @Query("SELECT r.id AS id, r.images AS reference FROM ResearchProject r "
+            + "WHERE r.id > :afterId AND r.images IS NOT NULL ORDER BY r.id")
+    List<UploadReference> findImagesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 上传目录迁移后更新项目图片JSON
+     * 只有当前值仍为 oldValue 时才更新，迁移期间被修改过的数据保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE ResearchProject r SET r.images = :newValue WHERE r.id = :id AND r.images = :oldValue")
+    int updateImages(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
+
+    /**
+     * 根据教授ID查询项目列表（只查询列表上显示的列和纯文本摘要）
+     */
+    List<ResearchProjectListView> findListViewsByProfessorIdOrderByStartDateDesc(Long professorId);
+
+    /**
+     * 按ID分批读取还没有纯文本摘要的项目描述（补全摘要时使用）
+     */
+    @Query("SELECT r.id AS id, r.description AS text FROM ResearchProject r "
+            + "WHERE r.id > :afterId AND r.description IS NOT NULL AND r.descriptionSummary IS NULL ORDER BY r.id")
+    List<RichTextSource> findDescriptionsWithoutSummaryAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 补全项目描述的纯文本摘要
+     * 只有摘要仍为空时才更新，补全期间保存过的数据（已在保存时生成摘要）保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE ResearchProject r SET r.descriptionSummary = :summary WHERE r.id = :id AND r.descriptionSummary IS NULL")
+    int updateDescriptionSummary(@Param("id") Long id, @Param("summary") String summary);
+
+    /**
+     * 查询所有项目列表项（REST 接口使用，构造器表达式只查询列表项中的列）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.ResearchProjectListItem("
+            + "r.id, r.professor.id, r.title, r.fundingSource, r.fundingAmount, r.startDate, r.endDate, r.status, r.descriptionSummary) "
+            + "FROM ResearchProject r "
+            + "ORDER BY r.id")
+    List<ResearchProjectListItem> findAllListItems();
+
+    /**
+     * 根据教授ID查询项目列表项（REST 接口使用）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.ResearchProjectListItem("
+            + "r.id, r.professor.id, r.title, r.fundingSource, r.fundingAmount, r.startDate, r.endDate, r.status, r.descriptionSummary) "
+            + "FROM ResearchProject r "
+            + "WHERE r.professor.id = :professorId ORDER BY r.startDate DESC, r.id DESC")
+    List<ResearchProjectListItem> findListItemsByProfessorId(@Param("professorId") Long professorId);
+
+    /**
+     * 按ID顺序流式读取所有项目（导出接口使用）
+     * 数据库游标每次取 500 行，调用方须在只读事务中消费并关闭 Stream
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.audrey.homepage.dto.ResearchProjectExportRow("
+            + "r.id, r.professor.id, r.title, r.description, r.fundingSource, r.fundingAmount, "
+            + "r.startDate, r.endDate, r.status, r.images) "
+            + "FROM ResearchProject r ORDER BY r.id")
+    Stream<ResearchProjectExportRow> streamAllForExport();
 }
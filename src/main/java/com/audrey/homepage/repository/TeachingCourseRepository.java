@@ -1,10 +1,22 @@
 package com.audrey.homepage.repository;
 
+import com.audrey.homepage.dto.RichTextSource;
+import com.audrey.homepage.dto.TeachingCourseExportRow;
+import com.audrey.homepage.dto.TeachingCourseListItem;
+import com.audrey.homepage.dto.TeachingCourseListView;
+import com.audrey.homepage.dto.UploadReference;
 import com.audrey.homepage.entity.TeachingCourse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * TeachingCourse实体的Repository接口
@@ -15,15 +27,104 @@ public interface TeachingCourseRepository extends JpaRepository<TeachingCourse,
     /**
      * 根据教授ID查询所有课程
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<TeachingCourse> findByProfessorId(Long professorId);
 
     /**
      * 根据教授ID和年份查询课程
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<TeachingCourse> findByProfessorIdAndYear(Long professorId, Integer year);
 
     /**
      * 根据教授ID查询课程，按年份和学期排序
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<TeachingCourse> findByProfessorIdOrderByYearDescSemesterAsc(Long professorId);
+
+    /**
+     * 按ID分批读取课程资料JSON（清理无用上传文件时使用）
+     * 以ID为游标而不是偏移量分页，扫描期间删除数据不会导致漏读
+     */
+    @Query("SELECT c.id AS id, c.materials AS reference FROM TeachingCourse c "
+            + "WHERE c.id > :afterId AND c.materials IS NOT NULL ORDER BY c.id")
+    List<UploadReference> findMaterialsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 上传目录迁移后更新课程资料JSON
+     * 只有当前值仍为 oldValue 时才更新，迁移期间被修改过的数据保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE TeachingCourse c SET c.materials = :newValue WHERE c.id = :id AND c.materials = :oldValue")
+    int updateMaterials(@Param("id") Long id, @Param("oldValue") String oldValue, @Param("newValue") String newValue);
+
+    /**
+     * 根据教授ID查询课程列表（只查询列表上显示的列和纯文本摘要）
+     */
+    List<TeachingCourseListView> findListViewsByProfessorIdOrderByYearDescSemesterAsc(Long professorId);
+
+    /**
+     * 按ID分批读取还没有纯文本摘要的课程描述（补全摘要时使用）
+     */
+    @Query("SELECT c.id AS id, c.description AS text FROM TeachingCourse c "
+            + "WHERE c.id > :afterId AND c.description IS NOT NULL AND c.descriptionSummary IS NULL ORDER BY c.id")
+    List<RichTextSource> findDescriptionsWithoutSummaryAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 补全课程描述的纯文本摘要
+     * 只有摘要仍为空时才更新，补全期间保存过的数据（已在保存时生成摘要）保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE TeachingCourse c SET c.descriptionSummary = :summary WHERE c.id = :id AND c.descriptionSummary IS NULL")
+    int updateDescriptionSummary(@Param("id") Long id, @Param("summary") String summary);
+
+    /**
+     * 按ID分批读取还没有纯文本摘要的课程大纲（补全摘要时使用）
+     */
+    @Query("SELECT c.id AS id, c.syllabus AS text FROM TeachingCourse c "
+            + "WHERE c.id > :afterId AND c.syllabus IS NOT NULL AND c.syllabusSummary IS NULL ORDER BY c.id")
+    List<RichTextSource> findSyllabiWithoutSummaryAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 补全课程大纲的纯文本摘要
+     * 只有摘要仍为空时才更新，补全期间保存过的数据（已在保存时生成摘要）保持不变
+     *
+     * @return 更新的行数（0或1）
+     */
+    @Modifying
+    @Query("UPDATE TeachingCourse c SET c.syllabusSummary = :summary WHERE c.id = :id AND c.syllabusSummary IS NULL")
+    int updateSyllabusSummary(@Param("id") Long id, @Param("summary") String summary);
+
+    /**
+     * 查询所有课程列表项（REST 接口使用，构造器表达式只查询列表项中的列）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.TeachingCourseListItem("
+            + "c.id, c.professor.id, c.courseName, c.courseCode, c.semester, c.year, c.credits, c.descriptionSummary) "
+            + "FROM TeachingCourse c "
+            + "ORDER BY c.id")
+    List<TeachingCourseListItem> findAllListItems();
+
+    /**
+     * 根据教授ID查询课程列表项（REST 接口使用）
+     */
+    @Query("SELECT new com.audrey.homepage.dto.TeachingCourseListItem("
+            + "c.id, c.professor.id, c.courseName, c.courseCode, c.semester, c.year, c.credits, c.descriptionSummary) "
+            + "FROM TeachingCourse c "
+            + "WHERE c.professor.id = :professorId ORDER BY c.year DESC, c.semester ASC, c.id DESC")
+    List<TeachingCourseListItem> findListItemsByProfessorId(@Param("professorId") Long professorId);
+
+    /**
+     * 按ID顺序流式读取所有课程（导出接口使用）
+     * 数据库游标每次取 500 行，调用方须在只读事务中消费并关闭 Stream
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.audrey.homepage.dto.TeachingCourseExportRow("
+            + "c.id, c.professor.id, c.courseName, c.courseCode, c.semester, c.year, "
+            + "c.description, c.syllabus, c.materials, c.credits) "
+            + "FROM TeachingCourse c ORDER BY c.id")
+    Stream<TeachingCourseExportRow> streamAllForExport();
 }
@@ -0,0 +1,309 @@
+package com.audrey.homepage.search;
+
+import com.audrey.homepage.dto.PublicationFacets;
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.entity.Publication.PublicationType;
+import com.audrey.homepage.entity.PublicationText;
+import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.PublicationTextRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 论文全文检索倒排索引（内存）
+ *
+ * 工作方式：
+ * 1. 应用启动完成后从数据库加载全部论文，建立 词项 → 论文ID 的倒排表
+ * 2. PublicationService 保存/删除论文时增量更新索引
+ * 3. 查询时对关键词分词，每个词项做前缀匹配，所有词项都命中的论文才算结果（AND）
+ *
+ * 评分：标题命中权重3，作者权重2，期刊权重1，PDF摘要和正文各权重1；前缀匹配（非完整词项）得分减半。
+ * PDF全文来自 publication_text 表（见 PdfTextExtractionService），PDF已更换的过期全文不索引。
+ * 同分时按年份降序、ID降序排列，与数据库查询的排序保持一致。
+ */
+@Component
+public class PublicationSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHORS_WEIGHT = 2;
+    private static final int JOURNAL_WEIGHT = 1;
+    private static final int ABSTRACT_WEIGHT = 1;
+    private static final int CONTENT_WEIGHT = 1;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private PublicationTextRepository publicationTextRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 倒排表：词项 → (论文ID → 字段权重之和)
+     * 使用TreeMap以支持前缀范围查询
+     */
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * 已索引的论文（用于删除时定位词项，以及按年份/类型筛选）
+     */
+    private final Map<Long, IndexedPublication> documents = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 检索命中项
+     *
+     * @param publicationId 论文ID
+     * @param year 论文年份（可能为null）
+     * @param score 相关度得分
+     */
+    public record Hit(Long publicationId, Integer year, double score) {
+    }
+
+    private record IndexedPublication(Long id, Long professorId, Integer year,
+                                      PublicationType type, Set<String> terms) {
+    }
+
+    /**
+     * 应用启动完成后建立索引
+     *
+     * 在写锁内读取数据库：读取期间提交的 index/remove 要等重建完成后才执行，
+     * 不会被重建时读到的旧数据覆盖（索引就绪前检索回退到数据库查询，不受写锁影响）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            List<Publication> publications = publicationRepository.findAll();
+            Map<Long, PublicationText> texts = new HashMap<>();
+            for (PublicationText text : publicationTextRepository.findAll()) {
+                texts.put(text.getPublicationId(), text);
+            }
+
+            postings.clear();
+            documents.clear();
+            for (Publication publication : publications) {
+                addInternal(publication, texts.get(publication.getId()));
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 索引是否已建立完成（建立前调用方应回退到数据库查询）
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 判断关键词能否由索引处理（索引已就绪，且关键词至少能切分出一个词项）
+     */
+    public boolean canSearch(String keyword) {
+        return ready && !SearchTokenizer.tokenize(keyword).isEmpty();
+    }
+
+    /**
+     * 新增或更新一篇论文的索引（连同已提取的PDF全文）
+     */
+    public void index(Publication publication) {
+        if (publication == null || publication.getId() == null) {
+            return;
+        }
+        PublicationText text = publicationTextRepository.findById(publication.getId()).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(publication.getId());
+            addInternal(publication, text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从索引中移除一篇论文
+     */
+    public void remove(Long publicationId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(publicationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除某个教授的全部论文（删除教授时级联删除了论文）
+     */
+    public void removeByProfessorId(Long professorId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (IndexedPublication doc : documents.values()) {
+                if (professorId.equals(doc.professorId())) {
+                    ids.add(doc.id());
+                }
+            }
+            ids.forEach(this::removeInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 检索论文
+     *
+     * @param keyword 关键词
+     * @param year 年份（可选）
+     * @param type 类型（可选）
+     * @return 按相关度排序的全部命中项
+     */
+    public List<Hit> search(String keyword, Integer year, PublicationType type) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTokenizer.tokenize(keyword));
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = match(queryTerms);
+
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                IndexedPublication doc = documents.get(entry.getKey());
+                if ((year == null || year.equals(doc.year())) && (type == null || type == doc.type())) {
+                    hits.add(new Hit(entry.getKey(), doc.year(), entry.getValue()));
+                }
+            }
+
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(Hit::year, Comparator.nullsFirst(Comparator.reverseOrder()))
+                    .thenComparing(Hit::publicationId, Comparator.reverseOrder()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 分面统计：命中关键词的论文按年份、类型、教授计数（不应用年份、类型筛选）
+     * 与 search 共用一次倒排表匹配，再遍历一遍命中的论文
+     *
+     * @param keyword 关键词
+     * @return 分面统计
+     */
+    public PublicationFacets facets(String keyword) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTokenizer.tokenize(keyword));
+        PublicationFacets.Counter counter = new PublicationFacets.Counter();
+        if (queryTerms.isEmpty()) {
+            return counter.build();
+        }
+
+        lock.readLock().lock();
+        try {
+            for (Long id : match(queryTerms).keySet()) {
+                IndexedPublication doc = documents.get(id);
+                counter.add(doc.year(), doc.type(), doc.professorId(), 1);
+            }
+            return counter.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 所有查询词项都命中的论文（AND），返回 论文ID → 得分之和
+     */
+    private Map<Long, Double> match(Set<String> queryTerms) {
+        Map<Long, Double> scores = null;
+        for (String term : queryTerms) {
+            Map<Long, Double> termScores = matchPrefix(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 对单个查询词项做前缀匹配，返回 论文ID → 得分
+     */
+    private Map<Long, Double> matchPrefix(String term) {
+        Map<Long, Double> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            double boost = entry.getKey().length() == term.length() ? 1.0 : 0.5;
+            for (Map.Entry<Long, Integer> posting : entry.getValue().entrySet()) {
+                termScores.merge(posting.getKey(), posting.getValue() * boost, Double::sum);
+            }
+        }
+        return termScores;
+    }
+
+    private void addInternal(Publication publication, PublicationText text) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, publication.getTitle(), TITLE_WEIGHT);
+        addField(weights, publication.getAuthors(), AUTHORS_WEIGHT);
+        addField(weights, publication.getJournal(), JOURNAL_WEIGHT);
+        if (text != null && Objects.equals(text.getPdfUrl(), publication.getPdfUrl())) {
+            addField(weights, text.getAbstractText(), ABSTRACT_WEIGHT);
+            addField(weights, text.getContent(), CONTENT_WEIGHT);
+        }
+
+        Long id = publication.getId();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+        }
+
+        Long professorId = publication.getProfessor() != null ? publication.getProfessor().getId() : null;
+        documents.put(id, new IndexedPublication(id, professorId, publication.getYear(),
+                publication.getPublicationType(), new HashSet<>(weights.keySet())));
+    }
+
+    private void removeInternal(Long publicationId) {
+        IndexedPublication doc = documents.remove(publicationId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(publicationId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String token : new HashSet<>(SearchTokenizer.tokenize(text))) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.audrey.homepage.search;
+
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.repository.PublicationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 论文搜索框自动补全（内存前缀树）
+ *
+ * 工作方式：
+ * 1. 应用启动完成后从数据库加载全部论文，把标题、作者（authors 按逗号等拆分）、期刊名
+ *    插入一棵压缩前缀树（radix tree，只有一个子节点的路径合并为一条边）
+ * 2. 每个词条除了整段文字，还以其中每个单词开头的后缀作为key，输入中间的单词也能补全
+ *    （如输入 "learn" 可以补全标题 "Deep Learning for ..."）
+ * 3. 每个节点预先保存子树中最好的 MAX_SUGGESTIONS 个词条；
+ *    查询只需沿输入走到对应节点直接返回，耗时与词条总数无关
+ * 4. PublicationService 保存/删除论文时增量更新，只重新计算受影响路径上的节点
+ *
+ * 排序：引用该词条的论文数降序（常见作者、期刊靠前），其次标题优先、文字较短优先。
+ */
+@Component
+public class PublicationSuggester {
+
+    /**
+     * 每个节点保存的最多词条数（也是查询返回条数的上限）
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * 每个词条最多按多少个单词开头建立后缀key（限制长标题占用的内存）
+     */
+    private static final int MAX_WORD_STARTS = 12;
+
+    /**
+     * 作者分隔符：逗号、分号、顿号（中英文），以及英文 "and"
+     */
+    private static final Pattern AUTHOR_SEPARATOR = Pattern.compile("[,，;；、]|\\s+and\\s+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+
+    /**
+     * 全部词条（key：类型 + 规范化文字）
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * 每篇论文贡献的词条（用于更新、删除论文时减少引用数）
+     */
+    private final Map<Long, IndexedPublication> documents = new HashMap<>();
+
+    /**
+     * 词条类型
+     */
+    public enum Kind {
+        TITLE,
+        AUTHOR,
+        JOURNAL
+    }
+
+    /**
+     * 补全建议
+     *
+     * @param text 词条文字（保留原始大小写）
+     * @param type 词条类型
+     * @param count 引用该词条的论文数
+     */
+    public record Suggestion(String text, Kind type, int count) {
+    }
+
+    private record IndexedPublication(Long professorId, List<Entry> entries) {
+    }
+
+    /**
+     * 词条：同一类型、规范化后相同的文字共用一个词条，count 为引用它的论文数
+     */
+    private static final class Entry {
+        private final String text;
+        private final Kind kind;
+        private final String[] keys;
+        private int count;
+
+        private Entry(String text, Kind kind, String[] keys) {
+            this.text = text;
+            this.kind = kind;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+        /**
+         * 从父节点到本节点的边上的文字
+         */
+        private String label;
+
+        /**
+         * 子节点（按边的首字符排序）
+         */
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * key 恰好在本节点结束的词条
+         */
+        private Entry[] terminals = NO_ENTRIES;
+
+        /**
+         * 子树中最好的 MAX_SUGGESTIONS 个词条（已排序）
+         */
+        private Entry[] top = NO_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingInt((Entry e) -> -e.count)
+            .thenComparing(e -> e.kind)
+            .thenComparingInt(e -> e.text.length())
+            .thenComparing(e -> e.text);
+
+    /**
+     * 应用启动完成后建立前缀树
+     *
+     * 在写锁内读取数据库，读取期间提交的 index/remove 在重建完成后执行，不会被旧数据覆盖
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            List<Publication> publications = publicationRepository.findAll();
+
+            root.children = NO_CHILDREN;
+            root.terminals = NO_ENTRIES;
+            root.top = NO_ENTRIES;
+            entries.clear();
+            documents.clear();
+            for (Publication publication : publications) {
+                addInternal(publication);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 新增或更新一篇论文的词条
+     */
+    public void index(Publication publication) {
+        if (publication == null || publication.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(publication.getId());
+            addInternal(publication);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除一篇论文的词条
+     */
+    public void remove(Long publicationId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(publicationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除某个教授全部论文的词条（删除教授时级联删除了论文）
+     */
+    public void removeByProfessorId(Long professorId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (Map.Entry<Long, IndexedPublication> doc : documents.entrySet()) {
+                if (professorId.equals(doc.getValue().professorId())) {
+                    ids.add(doc.getKey());
+                }
+            }
+            ids.forEach(this::removeInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询补全建议
+     *
+     * @param prefix 用户已输入的文字（不区分大小写）
+     * @param limit 最多返回条数（不超过 MAX_SUGGESTIONS）
+     * @return 补全建议，按论文数降序
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = findChild(node, key.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int length = Math.min(child.label.length(), key.length() - i);
+                if (!child.label.regionMatches(0, key, i, length)) {
+                    return Collections.emptyList();
+                }
+                i += length;
+                node = child;
+            }
+
+            int n = Math.min(limit, node.top.length);
+            List<Suggestion> suggestions = new ArrayList<>(n);
+            for (int k = 0; k < n; k++) {
+                Entry entry = node.top[k];
+                suggestions.add(new Suggestion(entry.text, entry.kind, entry.count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(Publication publication) {
+        Set<String> seen = new LinkedHashSet<>();
+        List<Entry> added = new ArrayList<>();
+        addEntry(publication.getTitle(), Kind.TITLE, seen, added);
+        if (publication.getAuthors() != null) {
+            for (String author : AUTHOR_SEPARATOR.split(publication.getAuthors())) {
+                addEntry(author, Kind.AUTHOR, seen, added);
+            }
+        }
+        addEntry(publication.getJournal(), Kind.JOURNAL, seen, added);
+
+        Long professorId = publication.getProfessor() != null ? publication.getProfessor().getId() : null;
+        documents.put(publication.getId(), new IndexedPublication(professorId, added));
+    }
+
+    private void addEntry(String text, Kind kind, Set<String> seen, List<Entry> added) {
+        if (text == null) {
+            return;
+        }
+        String display = WHITESPACE.matcher(text.trim()).replaceAll(" ");
+        String normalized = display.toLowerCase(Locale.ROOT);
+        String id = kind + ":" + normalized;
+        if (normalized.isEmpty() || !seen.add(id)) {
+            return;
+        }
+
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = new Entry(display, kind, wordStarts(normalized));
+            entries.put(id, entry);
+            entry.count = 1;
+            for (String key : entry.keys) {
+                insert(root, key, 0, entry);
+            }
+        } else {
+            entry.count++;
+            for (String key : entry.keys) {
+                refresh(root, key, 0);
+            }
+        }
+        added.add(entry);
+    }
+
+    private void removeInternal(Long publicationId) {
+        IndexedPublication doc = documents.remove(publicationId);
+        if (doc == null) {
+            return;
+        }
+        for (Entry entry : doc.entries()) {
+            entry.count--;
+            if (entry.count > 0) {
+                for (String key : entry.keys) {
+                    refresh(root, key, 0);
+                }
+            } else {
+                entries.remove(entry.kind + ":" + entry.text.toLowerCase(Locale.ROOT));
+                for (String key : entry.keys) {
+                    delete(root, key, 0, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 插入 key，沿途需要时拆分边；回溯时重新计算路径上节点的 top
+     */
+    private static void insert(Node node, String key, int i, Entry entry) {
+        if (i == key.length()) {
+            node.terminals = append(node.terminals, entry);
+        } else {
+            Node child = findChild(node, key.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(key.substring(i));
+                leaf.terminals = new Entry[]{entry};
+                leaf.top = leaf.terminals;
+                addChild(node, leaf);
+            } else {
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // 拆分边：node → middle → child
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children = new Node[]{child};
+                    middle.top = child.top;
+                    replaceChild(node, child, middle);
+                    child = middle;
+                }
+                insert(child, key, i + common, entry);
+            }
+        }
+        node.top = computeTop(node);
+    }
+
+    /**
+     * 删除 key 上的词条；回溯时删除空节点、合并只有一个子节点的节点，并重新计算 top
+     */
+    private static void delete(Node node, String key, int i, Entry entry) {
+        if (i == key.length()) {
+            node.terminals = without(node.terminals, entry);
+        } else {
+            Node child = findChild(node, key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            delete(child, key, i + child.label.length(), entry);
+
+            if (child.terminals.length == 0 && child.children.length == 0) {
+                removeChild(node, child);
+            } else if (child.terminals.length == 0 && child.children.length == 1) {
+                Node grandchild = child.children[0];
+                grandchild.label = child.label + grandchild.label;
+                replaceChild(node, child, grandchild);
+            }
+        }
+        node.top = computeTop(node);
+    }
+
+    /**
+     * 词条的论文数变化后，重新计算 key 路径上节点的 top
+     */
+    private static void refresh(Node node, String key, int i) {
+        if (i < key.length()) {
+            Node child = findChild(node, key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            refresh(child, key, i + child.label.length());
+        }
+        node.top = computeTop(node);
+    }
+
+    /**
+     * 合并本节点的词条和各子节点的 top，取最好的 MAX_SUGGESTIONS 个
+     * （同一词条可能经由多个后缀key出现在多个子树中，需要去重）
+     */
+    private static Entry[] computeTop(Node node) {
+        List<Entry> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+
+        List<Entry> top = new ArrayList<>(Math.min(candidates.size(), MAX_SUGGESTIONS));
+        for (Entry candidate : candidates) {
+            if (top.size() == MAX_SUGGESTIONS) {
+                break;
+            }
+            if (!top.contains(candidate)) {
+                top.add(candidate);
+            }
+        }
+        return top.toArray(NO_ENTRIES);
+    }
+
+    /**
+     * 二分查找边的首字符为 c 的子节点
+     */
+    private static Node findChild(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = node.children[mid].label.charAt(0);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return node.children[mid];
+            }
+        }
+        return null;
+    }
+
+    private static void addChild(Node node, Node child) {
+        char c = child.label.charAt(0);
+        int position = 0;
+        while (position < node.children.length && node.children[position].label.charAt(0) < c) {
+            position++;
+        }
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, position);
+        children[position] = child;
+        System.arraycopy(node.children, position, children, position + 1, node.children.length - position);
+        node.children = children;
+    }
+
+    private static void replaceChild(Node node, Node oldChild, Node newChild) {
+        for (int k = 0; k < node.children.length; k++) {
+            if (node.children[k] == oldChild) {
+                node.children[k] = newChild;
+                return;
+            }
+        }
+    }
+
+    private static void removeChild(Node node, Node child) {
+        List<Node> children = new ArrayList<>(Arrays.asList(node.children));
+        children.remove(child);
+        node.children = children.toArray(NO_CHILDREN);
+    }
+
+    private static Entry[] append(Entry[] array, Entry entry) {
+        Entry[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = entry;
+        return result;
+    }
+
+    private static Entry[] without(Entry[] array, Entry entry) {
+        List<Entry> result = new ArrayList<>(Arrays.asList(array));
+        result.remove(entry);
+        return result.toArray(NO_ENTRIES);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int k = 0;
+        while (k < max && label.charAt(k) == key.charAt(offset + k)) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * 整段文字以及从每个单词开头开始的后缀（最多 MAX_WORD_STARTS 个）
+     */
+    private static String[] wordStarts(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int k = 1; k < normalized.length() && keys.size() < MAX_WORD_STARTS; k++) {
+            if (normalized.charAt(k - 1) == ' ') {
+                keys.add(normalized.substring(k));
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    /**
+     * 规范化：去掉首尾空白、合并连续空白、转小写
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.audrey.homepage.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 搜索分词器（中英文混合）
+ *
+ * 分词规则：
+ * 1. 英文字母、数字：按连续的字母数字切分为单词，统一转小写
+ *    例如："Deep-Learning 2024" → [deep, learning, 2024]
+ * 2. 中日韩文字：按二元组（bigram）切分，并额外保留每段的最后一个字
+ *    例如："数据挖掘" → [数据, 据挖, 挖掘, 掘]
+ *    保留最后一个字是为了让单字查询（前缀匹配）也能命中段尾的字
+ * 3. 其他字符（空格、标点等）作为分隔符
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 对文本分词
+     *
+     * @param text 原始文本（可以为null）
+     * @return 词项列表（可能包含重复项）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjkRun = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjkRun.appendCodePoint(cp);
+            } else if (Character.isLetterOrDigit(cp)) {
+                flushCjk(cjkRun, tokens);
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens);
+
+        return tokens;
+    }
+
+    /**
+     * 判断字符是否为中日韩文字
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(StringBuilder run, List<String> tokens) {
+        if (run.length() == 0) {
+            return;
+        }
+
+        int[] cps = run.codePoints().toArray();
+        for (int k = 0; k + 1 < cps.length; k++) {
+            tokens.add(new String(cps, k, 2));
+        }
+        // 单字段或段尾的字，单独作为一个词项
+        tokens.add(new String(cps, cps.length - 1, 1));
+
+        run.setLength(0);
+    }
+}
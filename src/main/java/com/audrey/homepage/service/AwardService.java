@@ -1,5 +1,7 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.dto.AwardListItem;
+import com.audrey.homepage.dto.AwardListView;
 import com.audrey.homepage.entity.Award;
 import com.audrey.homepage.repository.AwardRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +29,27 @@ public class AwardService {
         return awardRepository.findByProfessorIdOrderByYearDesc(professorId);
     }
 
+    /**
+     * 查询所有奖项列表项（REST 接口使用，只查询列表项中的列）
+     */
+    public List<AwardListItem> getAwardListItems() {
+        return awardRepository.findAllListItems();
+    }
+
+    /**
+     * 根据教授ID查询奖项列表项（REST 接口使用）
+     */
+    public List<AwardListItem> getAwardListItemsByProfessorId(Long professorId) {
+        return awardRepository.findListItemsByProfessorId(professorId);
+    }
+
+    /**
+     * 后台奖项列表（只查询列表上显示的列和纯文本摘要）
+     */
+    public List<AwardListView> getAwardListViews(Long professorId) {
+        return awardRepository.findListViewsByProfessorIdOrderByYearDesc(professorId);
+    }
+
     @Transactional
     public Award saveAward(Award award) {
         return awardRepository.save(award);
@@ -0,0 +1,400 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.util.FileUploadUtil;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 分片上传服务（可断点续传）
+ *
+ * 流程：
+ * 1. init：登记文件名和大小，返回 uploadId、分片大小和分片数量
+ * 2. putChunk：上传第 index 个分片；分片之间互不依赖，可以并行上传，重复上传同一分片会覆盖（幂等）
+ * 3. status：查询已收到的分片，网络中断后只需补传缺少的分片
+ * 4. complete：按顺序拼接分片，经 FileUploadUtil 校验文件签名和大小后保存到上传目录
+ *
+ * 分片暂存在 uploads/.chunks/{uploadId}/ 目录（以 . 开头，不对外提供访问），
+ * 上传任务只保存在内存中，超过24小时未活动的任务会被清理；已完成的任务不再占用分片，
+ * 不计入任务数量上限，保留1小时供重复调用 complete / status。
+ */
+@Service
+public class ChunkedUploadService {
+
+    /**
+     * 分片大小（1MB）
+     */
+    public static final int CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * 文件最大大小（与课程资料上传一致，20MB）
+     */
+    private static final long MAX_FILE_SIZE = 20 * 1024 * 1024;
+
+    /**
+     * 同时进行（未完成）的上传任务上限，防止占满磁盘
+     */
+    private static final int MAX_SESSIONS = 100;
+
+    private static final long SESSION_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final long COMPLETED_SESSION_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+
+    /**
+     * 上传任务
+     */
+    public static class UploadSession {
+
+        private final String uploadId;
+        private final String uploadDir;
+        private final String filename;
+        private final long fileSize;
+        private final int chunkCount;
+        private final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        /**
+         * 写分片时持有读锁（分片之间可以并行），拼接和取消时持有写锁，
+         * 保证拼接或删除分片目录时没有正在写入的分片
+         */
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * 拼接完成后的文件URL（重复调用 complete 时直接返回）
+         */
+        private volatile String fileUrl;
+
+        UploadSession(String uploadId, String uploadDir, String filename, long fileSize) {
+            this.uploadId = uploadId;
+            this.uploadDir = uploadDir;
+            this.filename = filename;
+            this.fileSize = fileSize;
+            this.chunkCount = (int) Math.max(1, (fileSize + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public int getChunkCount() {
+            return chunkCount;
+        }
+
+        public String getFileUrl() {
+            return fileUrl;
+        }
+
+        /**
+         * 已收到的分片序号（从小到大）
+         */
+        public List<Integer> getReceived() {
+            List<Integer> indexes = new ArrayList<>(received);
+            Collections.sort(indexes);
+            return indexes;
+        }
+
+        /**
+         * 第 index 个分片应有的大小（最后一个分片可能较小）
+         */
+        long expectedChunkSize(int index) {
+            return Math.min(CHUNK_SIZE, fileSize - (long) index * CHUNK_SIZE);
+        }
+    }
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 分片暂存目录
+     */
+    private final Path chunksRoot;
+
+    public ChunkedUploadService() {
+        this(Paths.get("uploads", ".chunks"));
+    }
+
+    /**
+     * 指定分片暂存目录（单元测试使用）
+     */
+    ChunkedUploadService(Path chunksRoot) {
+        this.chunksRoot = chunksRoot;
+    }
+
+    /**
+     * 创建上传任务
+     *
+     * @param uploadDir 上传目录（如：uploads/materials）
+     * @param filename 原始文件名
+     * @param fileSize 文件大小（字节）
+     * @return 上传任务
+     * @throws IllegalArgumentException 文件类型或大小不符合要求
+     */
+    public UploadSession init(String uploadDir, String filename, long fileSize) throws IOException {
+        if (!FileUploadUtil.isMaterialFilename(filename)) {
+            throw new IllegalArgumentException("只允许上传PDF、PPT、Word格式的文件");
+        }
+        if (fileSize <= 0) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        if (fileSize > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("文件大小不能超过20MB");
+        }
+        if (activeSessionCount() >= MAX_SESSIONS) {
+            throw new IllegalArgumentException("上传任务过多，请稍后再试");
+        }
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        UploadSession session = new UploadSession(uploadId, uploadDir, filename, fileSize);
+        Files.createDirectories(chunkDir(uploadId));
+        sessions.put(uploadId, session);
+        return session;
+    }
+
+    /**
+     * 查询上传任务
+     *
+     * @param uploadId 上传任务ID
+     * @return 上传任务
+     * @throws NoSuchElementException 任务不存在或已过期
+     */
+    public UploadSession getSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new NoSuchElementException("上传任务不存在或已过期，请重新上传");
+        }
+        session.lastActivity = System.currentTimeMillis();
+        return session;
+    }
+
+    /**
+     * 未完成的上传任务数量
+     */
+    private long activeSessionCount() {
+        return sessions.values().stream().filter(session -> session.fileUrl == null).count();
+    }
+
+    /**
+     * 保存一个分片
+     * 先写临时文件，长度正确后再重命名，重复上传同一分片时覆盖旧文件；
+     * 与 complete / abort 互斥，任务已完成时直接忽略，已取消时视为任务不存在
+     *
+     * @param uploadId 上传任务ID
+     * @param index 分片序号（从0开始）
+     * @param input 分片内容
+     * @throws IllegalArgumentException 分片序号或长度不正确
+     * @throws NoSuchElementException 任务不存在、已过期或已取消
+     */
+    public void putChunk(String uploadId, int index, InputStream input) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new IllegalArgumentException("分片序号不正确：" + index);
+        }
+
+        session.lock.readLock().lock();
+        try {
+            if (session.fileUrl != null) {
+                // 已经拼接完成，重复的分片请求直接忽略
+                return;
+            }
+            if (sessions.get(uploadId) != session) {
+                throw new NoSuchElementException("上传任务不存在或已过期，请重新上传");
+            }
+
+            long expected = session.expectedChunkSize(index);
+            Path temp = Files.createTempFile(chunkDir(uploadId), ".chunk-", ".tmp");
+            try {
+                // 最多多读1个字节，用于判断分片是否超长
+                long written;
+                try (InputStream limited = new LimitedInputStream(input, expected + 1)) {
+                    written = Files.copy(limited, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (written != expected) {
+                    throw new IllegalArgumentException("分片大小不正确：期望 " + expected + " 字节，实际 " + written + " 字节");
+                }
+
+                Files.move(temp, chunkDir(uploadId).resolve(Integer.toString(index)),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                session.received.add(index);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            session.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 拼接分片并保存文件
+     * 重复调用时返回第一次保存的结果
+     *
+     * @param uploadId 上传任务ID
+     * @return 上传任务（fileUrl 为保存后的文件URL）
+     * @throws IllegalArgumentException 分片不完整或文件校验失败
+     */
+    public UploadSession complete(String uploadId) throws IOException {
+        UploadSession session = getSession(uploadId);
+        session.lock.writeLock().lock();
+        try {
+            if (session.fileUrl != null) {
+                return session;
+            }
+
+            if (session.received.size() < session.chunkCount) {
+                throw new IllegalArgumentException("还有 " + (session.chunkCount - session.received.size()) + " 个分片未上传");
+            }
+
+            // 按顺序读取所有分片，作为一个输入流交给 FileUploadUtil 校验并保存
+            Path directory = chunkDir(uploadId);
+            Enumeration<InputStream> chunks = new Enumeration<>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasMoreElements() {
+                    return next < session.chunkCount;
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    try {
+                        return Files.newInputStream(directory.resolve(Integer.toString(next++)));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("读取分片失败", e);
+                    }
+                }
+            };
+            try (InputStream input = new SequenceInputStream(chunks)) {
+                session.fileUrl = saveFile(input, session);
+            }
+
+            FileSystemUtils.deleteRecursively(directory);
+            return session;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 取消上传任务，删除已上传的分片
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void abort(String uploadId) throws IOException {
+        UploadSession session = sessions.remove(uploadId);
+        if (session != null) {
+            session.lock.writeLock().lock();
+            try {
+                FileSystemUtils.deleteRecursively(chunkDir(uploadId));
+            } finally {
+                session.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 每小时清理超时的上传任务（已完成的任务保留1小时）
+     * 包括服务重启后内存中已没有记录、但磁盘上仍残留的分片目录
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000)
+    public void cleanupExpiredSessions() throws IOException {
+        long now = System.currentTimeMillis();
+        long deadline = now - SESSION_TIMEOUT_MILLIS;
+        long completedDeadline = now - COMPLETED_SESSION_TIMEOUT_MILLIS;
+        for (UploadSession session : sessions.values()) {
+            if (session.fileUrl != null ? session.lastActivity < completedDeadline : session.lastActivity < deadline) {
+                abort(session.uploadId);
+            }
+        }
+
+        if (!Files.isDirectory(chunksRoot)) {
+            return;
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(chunksRoot)) {
+            for (Path directory : directories) {
+                if (!sessions.containsKey(directory.getFileName().toString())
+                        && Files.getLastModifiedTime(directory).toMillis() < deadline) {
+                    FileSystemUtils.deleteRecursively(directory);
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验并保存拼接后的文件（单元测试中替换，不写入上传目录）
+     *
+     * @return 保存后的文件URL
+     */
+    String saveFile(InputStream input, UploadSession session) throws IOException {
+        return FileUploadUtil.saveMaterialStream(input, session.fileSize, session.filename, session.uploadDir);
+    }
+
+    private Path chunkDir(String uploadId) {
+        return chunksRoot.resolve(uploadId);
+    }
+
+    /**
+     * 最多读取 limit 个字节的输入流（不关闭原始输入流）
+     */
+    private static class LimitedInputStream extends InputStream {
+
+        private final InputStream in;
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+    }
+}
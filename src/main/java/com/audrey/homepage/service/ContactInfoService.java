@@ -34,6 +34,8 @@ public class ContactInfoService {
 
     /**
      * 根据教授ID查询联系方式
+     * 由Hibernate二级缓存和查询缓存缓存（见 ContactInfoRepository），
+     * 返回的实体属于当前会话，调用方可以修改后保存
      */
     public Optional<ContactInfo> getContactInfoByProfessorId(Long professorId) {
         return contactInfoRepository.findByProfessorId(professorId);
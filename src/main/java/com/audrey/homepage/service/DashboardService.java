@@ -0,0 +1,45 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.dto.DashboardStats;
+import com.audrey.homepage.dto.ProfessorStatsView;
+import com.audrey.homepage.repository.ProfessorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 后台首页统计服务
+ *
+ * 一条聚合查询得到每位教授的各类数据条数，总数由各教授的条数相加得到
+ * （所有数据都必须属于某位教授，所以相加即为总数），不需要加载任何实体
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    /**
+     * 获取后台首页统计数据
+     */
+    public DashboardStats getDashboardStats() {
+        List<ProfessorStatsView> professors = professorRepository.findProfessorStats();
+
+        long totalPublications = 0;
+        long totalEducations = 0;
+        long totalProjects = 0;
+        long totalCourses = 0;
+        long totalAwards = 0;
+        for (ProfessorStatsView professor : professors) {
+            totalPublications += professor.getPublicationCount();
+            totalEducations += professor.getEducationCount();
+            totalProjects += professor.getProjectCount();
+            totalCourses += professor.getCourseCount();
+            totalAwards += professor.getAwardCount();
+        }
+
+        return new DashboardStats(professors, professors.size(), totalPublications,
+                totalEducations, totalProjects, totalCourses, totalAwards);
+    }
+}
@@ -0,0 +1,139 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.ResearchProjectRepository;
+import com.audrey.homepage.repository.TeachingCourseRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * 数据流式导出服务（夜间同步等需要拉取全部数据的场景）
+ *
+ * 说明：
+ * - 在只读事务中用数据库游标逐行读取（每次取 500 行），边读边写入响应，
+ *   内存占用与表的大小无关
+ * - 每行由构造器表达式生成导出记录，不是托管实体，不会在持久化上下文中累积
+ * - 支持 NDJSON（每行一个JSON对象）和 JSON 数组两种格式
+ */
+@Service
+public class DataExportService {
+
+    /**
+     * 导出格式
+     */
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        JSON(MediaType.APPLICATION_JSON);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * 解析请求参数中的格式（不区分大小写）
+         *
+         * @throws IllegalArgumentException 不支持的格式
+         */
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支持的导出格式：" + value);
+            }
+        }
+    }
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+
+    @Autowired
+    private TeachingCourseRepository teachingCourseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 导出所有论文
+     *
+     * @param out 输出流（不会被关闭）
+     * @param format 导出格式
+     * @throws IOException 写入失败（如客户端断开连接）
+     */
+    @Transactional(readOnly = true)
+    public void exportPublications(OutputStream out, Format format) throws IOException {
+        try (Stream<?> rows = publicationRepository.streamAllForExport()) {
+            write(rows, out, format);
+        }
+    }
+
+    /**
+     * 导出所有科研项目
+     *
+     * @param out 输出流（不会被关闭）
+     * @param format 导出格式
+     * @throws IOException 写入失败（如客户端断开连接）
+     */
+    @Transactional(readOnly = true)
+    public void exportResearchProjects(OutputStream out, Format format) throws IOException {
+        try (Stream<?> rows = researchProjectRepository.streamAllForExport()) {
+            write(rows, out, format);
+        }
+    }
+
+    /**
+     * 导出所有教学课程
+     *
+     * @param out 输出流（不会被关闭）
+     * @param format 导出格式
+     * @throws IOException 写入失败（如客户端断开连接）
+     */
+    @Transactional(readOnly = true)
+    public void exportTeachingCourses(OutputStream out, Format format) throws IOException {
+        try (Stream<?> rows = teachingCourseRepository.streamAllForExport()) {
+            write(rows, out, format);
+        }
+    }
+
+    /**
+     * 逐行序列化写入输出流
+     * JsonGenerator 自带缓冲区，只在结束时刷新一次，不在每行后刷新
+     */
+    private void write(Stream<?> rows, OutputStream out, Format format) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            }
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
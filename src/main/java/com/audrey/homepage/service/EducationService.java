@@ -1,5 +1,6 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.dto.EducationListItem;
 import com.audrey.homepage.entity.Education;
 import com.audrey.homepage.repository.EducationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +28,20 @@ public class EducationService {
         return educationRepository.findByProfessorIdOrderByEndYearDesc(professorId);
     }
 
+    /**
+     * 查询所有教育背景列表项（REST 接口使用，只查询列表项中的列）
+     */
+    public List<EducationListItem> getEducationListItems() {
+        return educationRepository.findAllListItems();
+    }
+
+    /**
+     * 根据教授ID查询教育背景列表项（REST 接口使用）
+     */
+    public List<EducationListItem> getEducationListItemsByProfessorId(Long professorId) {
+        return educationRepository.findListItemsByProfessorId(professorId);
+    }
+
     @Transactional
     public Education saveEducation(Education education) {
         return educationRepository.save(education);
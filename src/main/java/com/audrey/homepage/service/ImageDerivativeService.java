@@ -0,0 +1,385 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.cache.ContentRevision;
+import com.audrey.homepage.config.TaskExecutorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 图片缩略图服务
+ *
+ * 功能：
+ * 1. 头像、微信二维码上传后，在后台线程生成 64/160/400 像素的缩略图
+ *    （以及 WebP 版本，前提是运行环境提供了 ImageIO 的 WebP 编码器）
+ * 2. 模板通过 @imageDerivatives.url(原图URL, 尺寸) 获取合适尺寸的图片地址
+ * 3. 删除原图时一并删除缩略图
+ *
+ * 命名规则：原图 /uploads/avatars/1_abc.jpg
+ *          缩略图 /uploads/avatars/1_abc_160.jpg、/uploads/avatars/1_abc_160.webp
+ *
+ * 缩略图尚未生成时返回原图地址，并在后台补生成（兼容已上传的旧图片）。
+ * 缩略图是否存在直接检查磁盘上的文件，不在内存中另做记录（重启后不会丢失，也不会与磁盘不一致）。
+ * 一张原图的全部缩略图生成完成后，内容版本号加一（每张原图一次，不是每个缩略图文件一次），
+ * 缓存的页面随之重新渲染并改用缩略图，不会一直使用原图。
+ */
+@Service("imageDerivatives")
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    /**
+     * 缩略图尺寸（长边像素）
+     */
+    public static final int[] SIZES = {64, 160, 400};
+
+    /**
+     * 上传文件根目录（与 UploadFileController 一致）
+     */
+    private static final Path UPLOAD_ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+
+    /**
+     * 超过该像素数的图片不处理，防止解码超大图片耗尽内存
+     */
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /**
+     * 运行环境是否支持 WebP 编码（JDK 自带的 ImageIO 不支持，需要额外的插件）
+     */
+    private final boolean webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+
+    /**
+     * 正在生成的原图（避免重复提交）
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 生成失败的原图（不再自动重试）
+     */
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.IMAGE_TASK_EXECUTOR)
+    private TaskExecutor imageTaskExecutor;
+
+    @Autowired
+    private ContentRevision contentRevision;
+
+    /**
+     * 获取指定尺寸的图片地址（模板使用）
+     * 优先返回 WebP 缩略图，其次返回同格式缩略图，都不存在时返回原图
+     *
+     * @param originalUrl 原图URL（如：/uploads/avatars/1_abc.jpg）
+     * @param size 需要的尺寸（像素），取不小于该值的最小缩略图尺寸
+     * @return 图片URL
+     */
+    public String url(String originalUrl, int size) {
+        String format = outputFormat(originalUrl);
+        if (format == null) {
+            return originalUrl;
+        }
+
+        int derivativeSize = pickSize(size);
+        if (webpSupported) {
+            String webpUrl = derivativeUrl(originalUrl, derivativeSize, "webp");
+            if (exists(webpUrl)) {
+                return webpUrl;
+            }
+        }
+
+        String derivativeUrl = derivativeUrl(originalUrl, derivativeSize, format);
+        if (exists(derivativeUrl)) {
+            return derivativeUrl;
+        }
+
+        // 缩略图不存在（旧图片或尚未生成完），后台补生成，本次先返回原图
+        generateAsync(originalUrl);
+        return originalUrl;
+    }
+
+    /**
+     * 获取 img 标签的 srcset（1x 和 2x 高清屏）
+     *
+     * @param originalUrl 原图URL
+     * @param size 显示尺寸（CSS像素）
+     * @return 如 "/uploads/avatars/1_abc_160.jpg 1x, /uploads/avatars/1_abc_400.jpg 2x"
+     */
+    public String srcset(String originalUrl, int size) {
+        return url(originalUrl, size) + " 1x, " + url(originalUrl, size * 2) + " 2x";
+    }
+
+    /**
+     * 提交后台任务生成缩略图
+     * 生成完成后更新内容版本号，已缓存的页面重新渲染时改用缩略图
+     *
+     * @param originalUrl 原图URL
+     */
+    public void generateAsync(String originalUrl) {
+        if (outputFormat(originalUrl) == null || failed.contains(originalUrl) || !pending.add(originalUrl)) {
+            return;
+        }
+
+        try {
+            imageTaskExecutor.execute(() -> {
+                try {
+                    if (generate(originalUrl)) {
+                        contentRevision.bump();
+                    }
+                } catch (Exception e) {
+                    failed.add(originalUrl);
+                    log.warn("生成缩略图失败：{}", originalUrl, e);
+                } finally {
+                    pending.remove(originalUrl);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 队列已满，下次渲染页面时会重新提交
+            pending.remove(originalUrl);
+        }
+    }
+
+    /**
+     * 生成缩略图（同步执行）
+     *
+     * @param originalUrl 原图URL
+     * @return 是否生成了缩略图（原图不存在或不支持的格式返回 false）
+     * @throws IOException 读取或写入图片失败
+     */
+    public boolean generate(String originalUrl) throws IOException {
+        String format = outputFormat(originalUrl);
+        Path source = resolve(originalUrl);
+        if (format == null || source == null || !Files.isRegularFile(source)) {
+            return false;
+        }
+
+        BufferedImage image = readImage(source);
+        if (image == null) {
+            throw new IOException("无法解码图片");
+        }
+
+        boolean opaque = "jpg".equals(format);
+        for (int size : SIZES) {
+            BufferedImage resized = resize(image, size, opaque);
+
+            String derivativeUrl = derivativeUrl(originalUrl, size, format);
+            writeImage(resized, format, resolve(derivativeUrl));
+
+            if (webpSupported) {
+                writeImage(resized, "webp", resolve(derivativeUrl(originalUrl, size, "webp")));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 删除原图对应的所有缩略图
+     *
+     * @param originalUrl 原图URL
+     */
+    public void deleteDerivatives(String originalUrl) {
+        String format = outputFormat(originalUrl);
+        if (format == null) {
+            return;
+        }
+
+        for (int size : SIZES) {
+            for (String extension : new String[]{format, "webp"}) {
+                String derivativeUrl = derivativeUrl(originalUrl, size, extension);
+                Path path = resolve(derivativeUrl);
+                try {
+                    if (path != null) {
+                        Files.deleteIfExists(path);
+                    }
+                } catch (IOException e) {
+                    log.warn("删除缩略图失败：{}", derivativeUrl, e);
+                }
+            }
+        }
+        failed.remove(originalUrl);
+    }
+
+    /**
+     * 缩略图URL
+     * 例如：/uploads/avatars/1_abc.jpg + 160 + jpg → /uploads/avatars/1_abc_160.jpg
+     */
+    public static String derivativeUrl(String originalUrl, int size, String extension) {
+        int dot = originalUrl.lastIndexOf('.');
+        return originalUrl.substring(0, dot) + "_" + size + "." + extension;
+    }
+
+    /**
+     * 缩略图的输出格式：JPEG 仍为 JPEG，PNG 和 GIF 输出 PNG（保留透明背景）
+     * 其它格式（如 WebP 原图，JDK 无法解码）返回 null，表示不生成缩略图
+     */
+    private static String outputFormat(String originalUrl) {
+        if (originalUrl == null || !originalUrl.startsWith("/uploads/")) {
+            return null;
+        }
+
+        int dot = originalUrl.lastIndexOf('.');
+        if (dot < 0 || dot < originalUrl.lastIndexOf('/')) {
+            return null;
+        }
+
+        switch (originalUrl.substring(dot + 1).toLowerCase(Locale.ROOT)) {
+            case "jpg":
+            case "jpeg":
+                return "jpg";
+            case "png":
+            case "gif":
+                return "png";
+            default:
+                return null;
+        }
+    }
+
+    private static int pickSize(int size) {
+        for (int candidate : SIZES) {
+            if (candidate >= size) {
+                return candidate;
+            }
+        }
+        return SIZES[SIZES.length - 1];
+    }
+
+    private static boolean exists(String derivativeUrl) {
+        Path path = resolve(derivativeUrl);
+        return path != null && Files.isRegularFile(path);
+    }
+
+    /**
+     * URL 转换为磁盘路径，不允许超出上传目录
+     */
+    private static Path resolve(String url) {
+        Path path = UPLOAD_ROOT.resolve(url.substring("/uploads/".length())).normalize();
+        return path.startsWith(UPLOAD_ROOT) ? path : null;
+    }
+
+    /**
+     * 读取图片，先检查尺寸再解码
+     */
+    private static BufferedImage readImage(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    throw new IOException("图片像素过多");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 等比缩放到长边不超过 size（不放大）
+     * 缩小倍数较大时逐次减半，避免一次缩小造成锯齿
+     */
+    private static BufferedImage resize(BufferedImage source, int size, boolean opaque) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            if (currentWidth < targetWidth * 2 && currentHeight < targetHeight * 2) {
+                currentWidth = targetWidth;
+                currentHeight = targetHeight;
+            }
+            current = draw(current, currentWidth, currentHeight, opaque);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean opaque) {
+        BufferedImage target = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            if (opaque) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 先写临时文件再重命名，避免浏览器读到写了一半的图片
+     */
+    private static void writeImage(BufferedImage image, String format, Path target) throws IOException {
+        if (target == null) {
+            return;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        Path temp = Files.createTempFile(target.getParent(), ".derivative-", ".tmp");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if ("jpg".equals(format)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
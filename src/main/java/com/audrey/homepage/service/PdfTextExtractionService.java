@@ -0,0 +1,269 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.cache.ContentRevision;
+import com.audrey.homepage.config.TaskExecutorConfig;
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.entity.PublicationText;
+import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.PublicationTextRepository;
+import com.audrey.homepage.search.PublicationSearchIndex;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 论文PDF全文提取服务
+ *
+ * 功能：
+ * 1. 论文PDF上传后，在后台线程池中提取全文和摘要，保存到 publication_text 表
+ *    （上传请求不等待提取完成）
+ * 2. 提取完成后更新论文检索索引、清空搜索结果缓存，/publications/search 可以搜索到PDF中的内容；
+ *    识别到的摘要显示在论文详情页
+ * 3. 应用启动后为尚未提取全文的论文补提取（兼容已上传的旧PDF）
+ *
+ * 说明：
+ * - 只读取前 MAX_PAGES 页，正文超过 MAX_CONTENT_LENGTH 个字符时截断
+ * - 解析PDF时使用临时文件缓存，不把整个PDF读入内存
+ * - 无法解析的PDF也记录一行（内容为空），避免每次启动都重复尝试
+ */
+@Service
+public class PdfTextExtractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfTextExtractionService.class);
+
+    /**
+     * 上传文件根目录（与 UploadFileController 一致）
+     */
+    private static final Path UPLOAD_ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+
+    /**
+     * 最多读取的页数
+     */
+    private static final int MAX_PAGES = 50;
+
+    /**
+     * 正文最大长度（字符）
+     */
+    private static final int MAX_CONTENT_LENGTH = 100_000;
+
+    /**
+     * 摘要最大长度（字符）
+     */
+    private static final int MAX_ABSTRACT_LENGTH = 3_000;
+
+    /**
+     * 只在正文开头的这些字符中查找摘要
+     */
+    private static final int ABSTRACT_SEARCH_RANGE = 20_000;
+
+    /**
+     * 摘要：从 "Abstract" / "摘要" 开始，到 "Keywords" / "关键词" / "Introduction" / "引言" 之前
+     */
+    private static final Pattern ABSTRACT = Pattern.compile(
+            "(?:^|\\n)\\s*(?:abstract|摘\\s*要)\\s*[:：.—-]?\\s*(.+?)"
+                    + "(?=\\n\\s*(?:key\\s*words?|index\\s+terms|关键词|关键字|(?:1|i)\\.?\\s+introduction|引\\s*言)|\\z)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * 行末连字符断开的英文单词（如 "learn-\ning"）
+     */
+    private static final Pattern HYPHENATED_LINE_BREAK = Pattern.compile("(?<=\\p{Ll})-\\r?\\n(?=\\p{Ll})");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private PublicationTextRepository publicationTextRepository;
+
+    @Autowired
+    private PublicationSearchIndex publicationSearchIndex;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private ContentRevision contentRevision;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.PDF_TEXT_TASK_EXECUTOR)
+    private TaskExecutor pdfTextTaskExecutor;
+
+    /**
+     * 已提交、尚未完成的提取任务（key：论文ID:PDF URL），避免重复提交
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 提交后台任务提取论文PDF全文
+     *
+     * @param publicationId 论文ID
+     * @param pdfUrl PDF文件URL
+     */
+    public void extractAsync(Long publicationId, String pdfUrl) {
+        if (publicationId == null || pdfUrl == null || pdfUrl.isEmpty()) {
+            return;
+        }
+        String key = publicationId + ":" + pdfUrl;
+        if (!pending.add(key)) {
+            return;
+        }
+
+        try {
+            pdfTextTaskExecutor.execute(() -> {
+                try {
+                    extract(publicationId, pdfUrl);
+                } catch (Exception e) {
+                    log.warn("提取论文PDF全文失败：{}", pdfUrl, e);
+                } finally {
+                    pending.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 队列已满，下次启动时补提取
+            pending.remove(key);
+            log.warn("PDF全文提取队列已满，稍后补提取：{}", pdfUrl);
+        }
+    }
+
+    /**
+     * 应用启动完成后，为尚未提取全文的论文补提取
+     * 在一个后台任务中依次处理，不占满线程池
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> publicationIds = publicationTextRepository.findPublicationIdsWithoutText();
+        if (publicationIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            pdfTextTaskExecutor.execute(() -> {
+                log.info("开始补提取论文PDF全文：{} 篇", publicationIds.size());
+                for (Long publicationId : publicationIds) {
+                    publicationRepository.findById(publicationId).ifPresent(publication -> {
+                        try {
+                            extract(publicationId, publication.getPdfUrl());
+                        } catch (Exception e) {
+                            log.warn("提取论文PDF全文失败：{}", publication.getPdfUrl(), e);
+                        }
+                    });
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("PDF全文提取队列已满，跳过本次补提取");
+        }
+    }
+
+    /**
+     * 提取论文PDF全文（同步执行）
+     * 提取期间论文被删除或更换了PDF时，丢弃结果
+     *
+     * @param publicationId 论文ID
+     * @param pdfUrl PDF文件URL
+     * @throws IOException 读取文件失败
+     */
+    public void extract(Long publicationId, String pdfUrl) throws IOException {
+        Path file = resolve(pdfUrl);
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+
+        String raw;
+        try {
+            raw = readText(file);
+        } catch (IOException e) {
+            log.warn("无法解析论文PDF：{}（{}）", pdfUrl, e.getMessage());
+            raw = "";
+        }
+
+        Publication publication = publicationRepository.findById(publicationId).orElse(null);
+        if (publication == null || !pdfUrl.equals(publication.getPdfUrl())) {
+            return;
+        }
+
+        PublicationText text = new PublicationText();
+        text.setPublicationId(publicationId);
+        text.setPdfUrl(pdfUrl);
+        String abstractText = findAbstract(raw);
+        text.setAbstractText(abstractText);
+        text.setContent(normalize(raw, MAX_CONTENT_LENGTH));
+        text.setExtractedAt(LocalDateTime.now());
+        publicationTextRepository.save(text);
+
+        publicationSearchIndex.index(publication);
+        publicationService.evictSearchResults();
+
+        // 只有摘要显示在页面上（论文详情页），识别到摘要时才使页面缓存失效
+        if (abstractText != null) {
+            contentRevision.bump();
+        }
+    }
+
+    /**
+     * 读取PDF前 MAX_PAGES 页的文本
+     */
+    private static String readText(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setEndPage(MAX_PAGES);
+            return HYPHENATED_LINE_BREAK.matcher(stripper.getText(document)).replaceAll("");
+        }
+    }
+
+    /**
+     * 在正文开头查找摘要段落
+     *
+     * @return 摘要，找不到时返回 null
+     */
+    private static String findAbstract(String raw) {
+        Matcher matcher = ABSTRACT.matcher(raw.substring(0, Math.min(raw.length(), ABSTRACT_SEARCH_RANGE)));
+        if (!matcher.find()) {
+            return null;
+        }
+        String text = normalize(matcher.group(1), MAX_ABSTRACT_LENGTH);
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * 合并空白字符，超长时截断
+     */
+    private static String normalize(String text, int maxLength) {
+        String compact = WHITESPACE.matcher(text).replaceAll(" ").trim();
+        return compact.length() > maxLength ? compact.substring(0, maxLength) : compact;
+    }
+
+    /**
+     * URL 转换为文件路径，不允许超出上传目录
+     */
+    private static Path resolve(String pdfUrl) {
+        if (pdfUrl == null || !pdfUrl.startsWith("/uploads/")) {
+            return null;
+        }
+        Path file = UPLOAD_ROOT.resolve(pdfUrl.substring("/uploads/".length())).normalize();
+        return file.startsWith(UPLOAD_ROOT) ? file : null;
+    }
+}
@@ -1,11 +1,22 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.config.CacheConfig;
+import com.audrey.homepage.dto.ProfessorCardView;
+import com.audrey.homepage.dto.ProfessorOptionView;
 import com.audrey.homepage.entity.Professor;
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.entity.TeachingCourse;
+import com.audrey.homepage.repository.ContactInfoRepository;
 import com.audrey.homepage.repository.ProfessorRepository;
+import com.audrey.homepage.repository.PublicationTextRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +39,18 @@ public class ProfessorService {
     @Autowired
     private ProfessorRepository professorRepository;
 
+    @Autowired
+    private PublicationTextRepository publicationTextRepository;
+
+    @Autowired
+    private ContactInfoRepository contactInfoRepository;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private UploadReleaseService uploadReleaseService;
+
     /**
      * 查询所有教授
      */
@@ -35,8 +58,43 @@ public class ProfessorService {
         return professorRepository.findAll();
     }
 
+    /**
+     * 查询教授卡片列表（首页、后台首页、教授管理页使用）
+     * 只查询卡片需要的列，一条SQL完成；结果缓存（不可变列表），保存/删除教授时失效
+     */
+    @Cacheable(cacheNames = CacheConfig.PROFESSOR_LISTS, key = "'cards'")
+    public List<ProfessorCardView> getProfessorCards() {
+        return List.copyOf(professorRepository.findAllCardsByOrderByIdAsc());
+    }
+
+    /**
+     * 查询教授下拉框选项（后台各管理页面使用）
+     */
+    @Cacheable(cacheNames = CacheConfig.PROFESSOR_LISTS, key = "'options'")
+    public List<ProfessorOptionView> getProfessorOptions() {
+        return List.copyOf(professorRepository.findAllOptionsByOrderByIdAsc());
+    }
+
+    /**
+     * 根据ID查询教授详情（详情页使用）
+     * 子集合默认懒加载，这里在同一个事务内把详情页需要的集合全部加载好
+     */
+    @Transactional(readOnly = true)
+    public Optional<Professor> getProfessorDetailById(Long id) {
+        Optional<Professor> professor = professorRepository.findById(id);
+        professor.ifPresent(p -> {
+            Hibernate.initialize(p.getEducations());
+            Hibernate.initialize(p.getPublications());
+            Hibernate.initialize(p.getResearchProjects());
+            Hibernate.initialize(p.getTeachingCourses());
+            Hibernate.initialize(p.getAwards());
+        });
+        return professor;
+    }
+
     /**
      * 根据ID查询教授
+     * 不放入Spring缓存：返回的是托管实体，调用方会修改后保存（如更新头像）
      */
     public Optional<Professor> getProfessorById(Long id) {
         return professorRepository.findById(id);
@@ -63,18 +121,44 @@ public class ProfessorService {
      * - 确保数据一致性
      * - 如果方法执行失败，会自动回滚
      * - 如果成功，会自动提交
+     *
+     * 同时使教授列表缓存失效
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROFESSOR_LISTS, allEntries = true)
     public Professor saveProfessor(Professor professor) {
         return professorRepository.save(professor);
     }
 
     /**
      * 删除教授
+     * 论文、联系方式等随教授级联删除，相关缓存一并失效；
+     * 级联删除的记录引用的上传文件（头像、论文PDF、课程资料、微信二维码）在提交后释放
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROFESSOR_LISTS, allEntries = true)
     public void deleteProfessor(Long id) {
-        professorRepository.deleteById(id);
+        Professor professor = professorRepository.findById(id).orElse(null);
+        if (professor == null) {
+            return;
+        }
+
+        List<String> files = new ArrayList<>();
+        files.add(professor.getAvatarUrl());
+        for (Publication publication : professor.getPublications()) {
+            files.add(publication.getPdfUrl());
+        }
+        for (TeachingCourse course : professor.getTeachingCourses()) {
+            files.addAll(UploadReleaseService.extractUrls(course.getMaterials()));
+        }
+        contactInfoRepository.findByProfessorId(id).ifPresent(contactInfo -> files.add(contactInfo.getWechatQrcode()));
+
+        // publication_text 表没有外键，先删除该教授论文的PDF全文
+        publicationTextRepository.deleteByProfessorId(id);
+        professorRepository.delete(professor);
+        uploadReleaseService.release(files);
+        // 论文随教授级联删除，提交后移除论文检索索引并清空论文缓存
+        publicationService.onProfessorDeleted(id);
     }
 
     /**
@@ -1,17 +1,39 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.config.CacheConfig;
+import com.audrey.homepage.dto.CursorPage;
+import com.audrey.homepage.dto.PublicationFacetRow;
+import com.audrey.homepage.dto.PublicationFacets;
+import com.audrey.homepage.dto.PublicationListItem;
+import com.audrey.homepage.dto.PublicationCursor;
 import com.audrey.homepage.entity.Publication;
 import com.audrey.homepage.entity.Publication.PublicationType;
 import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.PublicationTextRepository;
+import com.audrey.homepage.search.PublicationSearchIndex;
+import com.audrey.homepage.search.PublicationSuggester;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Publication业务逻辑服务类
@@ -19,9 +41,67 @@ import java.util.Optional;
 @Service
 public class PublicationService {
 
+    /**
+     * 论文检索后端（application.properties 中的 publication.search.backend）
+     * - index：内存倒排索引（默认）
+     * - postgres：PostgreSQL全文检索 + 三元组索引
+     * - jpql：原始的 LIKE 查询
+     */
+    public static final String SEARCH_BACKEND_INDEX = "index";
+    public static final String SEARCH_BACKEND_POSTGRES = "postgres";
+    public static final String SEARCH_BACKEND_JPQL = "jpql";
+
+    /**
+     * 游标分页每页最大条数
+     */
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 游标分页的排序：year DESC（NULL在前）, id DESC，与数据库查询保持一致
+     */
+    private static final Comparator<PublicationSearchIndex.Hit> KEYSET_ORDER =
+            Comparator.comparing(PublicationSearchIndex.Hit::year, Comparator.nullsFirst(Comparator.<Integer>reverseOrder()))
+                    .thenComparing(PublicationSearchIndex.Hit::publicationId, Comparator.reverseOrder());
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 论文搜索结果缓存的key（各字段均已规范化）
+     */
+    private record SearchKey(String keyword, Integer year, PublicationType type, int page, int size) {
+    }
+
+    /**
+     * 缓存的一页搜索结果：只保存论文ID和总数，不缓存实体
+     * （实体是可变的，且属于加载它的会话，每次请求按ID重新加载）
+     */
+    private record SearchResult(List<Long> ids, long total) {
+    }
+
+    /**
+     * 分面统计缓存的key（与搜索结果共用一个缓存）
+     */
+    private record FacetKey(String keyword) {
+    }
+
     @Autowired
     private PublicationRepository publicationRepository;
 
+    @Autowired
+    private PublicationTextRepository publicationTextRepository;
+
+    @Autowired
+    private PublicationSearchIndex publicationSearchIndex;
+
+    @Autowired
+    private PublicationSuggester publicationSuggester;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${publication.search.backend:" + SEARCH_BACKEND_INDEX + "}")
+    private String searchBackend;
+
     /**
      * 查询所有论文
      */
@@ -29,6 +109,20 @@ public class PublicationService {
         return publicationRepository.findAll();
     }
 
+    /**
+     * 查询所有论文列表项（REST 接口使用，只查询列表项中的列）
+     */
+    public List<PublicationListItem> getPublicationListItems() {
+        return publicationRepository.findAllListItems();
+    }
+
+    /**
+     * 根据教授ID查询论文列表项（REST 接口使用）
+     */
+    public List<PublicationListItem> getPublicationListItemsByProfessorId(Long professorId) {
+        return publicationRepository.findListItemsByProfessorId(professorId);
+    }
+
     /**
      * 根据ID查询论文
      */
@@ -36,6 +130,19 @@ public class PublicationService {
         return publicationRepository.findById(id);
     }
 
+    /**
+     * 查询论文PDF中提取的摘要（论文详情页显示）
+     *
+     * @param publication 论文
+     * @return 摘要，没有PDF、尚未提取或识别不到摘要时为空
+     */
+    public Optional<String> getPublicationAbstract(Publication publication) {
+        if (publication.getPdfUrl() == null || publication.getPdfUrl().isEmpty()) {
+            return Optional.empty();
+        }
+        return publicationTextRepository.findAbstractText(publication.getId(), publication.getPdfUrl());
+    }
+
     /**
      * 根据教授ID查询所有论文
      */
@@ -66,32 +173,106 @@ public class PublicationService {
 
     /**
      * 保存或更新论文
+     * 检索索引、联想词和缓存在事务提交后更新
      */
     @Transactional
     public Publication savePublication(Publication publication) {
-        return publicationRepository.save(publication);
+        Publication saved = publicationRepository.save(publication);
+        afterCommit(() -> {
+            publicationSearchIndex.index(saved);
+            publicationSuggester.index(saved);
+            evictSearchResults();
+        });
+        return saved;
     }
 
     /**
      * 批量保存论文
+     * 检索索引、联想词和缓存在事务提交后更新
      */
     @Transactional
     public List<Publication> saveAllPublications(List<Publication> publications) {
-        return publicationRepository.saveAll(publications);
+        List<Publication> saved = publicationRepository.saveAll(publications);
+        afterCommit(() -> {
+            saved.forEach(publicationSearchIndex::index);
+            saved.forEach(publicationSuggester::index);
+            evictSearchResults();
+        });
+        return saved;
     }
 
     /**
      * 删除论文
+     * 检索索引、联想词和缓存在事务提交后更新
      */
     @Transactional
     public void deletePublication(Long id) {
+        if (publicationTextRepository.existsById(id)) {
+            publicationTextRepository.deleteById(id);
+        }
         publicationRepository.deleteById(id);
+        afterCommit(() -> {
+            publicationSearchIndex.remove(id);
+            publicationSuggester.remove(id);
+            evictSearchResults();
+        });
+    }
+
+    /**
+     * 教授被删除后（论文随教授级联删除），在事务提交后移除其论文的检索索引、联想词并清空缓存
+     *
+     * @param professorId 教授ID
+     */
+    public void onProfessorDeleted(Long professorId) {
+        afterCommit(() -> {
+            publicationSearchIndex.removeByProfessorId(professorId);
+            publicationSuggester.removeByProfessorId(professorId);
+            evictSearchResults();
+        });
+    }
+
+    /**
+     * 在事务提交后执行（不在事务中时立即执行）
+     * 回滚时不执行，避免索引和缓存中出现未提交的数据；
+     * 提交前其它请求也不会把旧数据重新放入缓存
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 清空论文搜索结果缓存（论文或PDF全文变化时调用）
+     */
+    public void evictSearchResults() {
+        Cache search = cacheManager.getCache(CacheConfig.PUBLICATION_SEARCH);
+        if (search != null) {
+            search.clear();
+        }
     }
 
     /**
      * 搜索论文（支持关键词、年份、类型筛选，支持分页）
      *
-     * @param keyword 关键词（搜索标题、作者、期刊）
+     * 有关键词时按配置的检索后端查询（按相关度排序）：
+     * - index：走内存倒排索引，只按ID加载当前页的论文（索引尚未建立时回退到jpql）
+     * - postgres：走PostgreSQL全文检索原生查询
+     * 没有关键词时走数据库查询（按年份降序排序）
+     *
+     * 结果（包括总数）按规范化后的查询条件缓存：关键词去掉首尾空白、合并连续空白、转小写
+     * （各检索后端都不区分大小写），空关键词视为无关键词；每页数量限制在 1~MAX_CURSOR_PAGE_SIZE。
+     * 同一查询并发请求时只查询一次数据库。缓存中只保存当前页的论文ID和总数，
+     * 论文实体每次按ID重新加载，不在请求之间共享。
+     *
+     * @param keyword 关键词（搜索标题、作者、期刊、PDF全文）
      * @param year 年份（可选）
      * @param type 类型（可选）
      * @param page 页码（从0开始）
@@ -99,14 +280,218 @@ public class PublicationService {
      * @return 分页的论文列表
      */
     public Page<Publication> searchPublications(String keyword, Integer year, PublicationType type, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return publicationRepository.searchPublications(keyword, year, type, pageable);
+        SearchKey key = new SearchKey(normalizeKeyword(keyword), year, type,
+                Math.max(page, 0), Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+
+        Cache cache = cacheManager.getCache(CacheConfig.PUBLICATION_SEARCH);
+        SearchResult result = cache == null
+                ? doSearchPublications(key)
+                : cache.get(key, () -> doSearchPublications(key));
+        return new PageImpl<>(findAllByIdInOrder(result.ids()), PageRequest.of(key.page(), key.size()), result.total());
+    }
+
+    /**
+     * 执行论文搜索（不经过缓存），返回当前页的论文ID和总数
+     */
+    private SearchResult doSearchPublications(SearchKey key) {
+        String keyword = key.keyword();
+        Integer year = key.year();
+        PublicationType type = key.type();
+        int size = key.size();
+        Pageable pageable = PageRequest.of(key.page(), size);
+        boolean hasKeyword = keyword != null;
+
+        if (hasKeyword && SEARCH_BACKEND_POSTGRES.equals(searchBackend)) {
+            return toSearchResult(publicationRepository.searchPublicationsFullText(
+                    keyword, year, type != null ? type.name() : null, pageable));
+        }
+
+        if (hasKeyword && SEARCH_BACKEND_INDEX.equals(searchBackend) && publicationSearchIndex.canSearch(keyword)) {
+            List<PublicationSearchIndex.Hit> hits = publicationSearchIndex.search(keyword, year, type);
+            int from = (int) Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + size, hits.size());
+            List<Long> pageIds = hits.subList(from, to).stream()
+                    .map(PublicationSearchIndex.Hit::publicationId)
+                    .collect(Collectors.toList());
+            return new SearchResult(List.copyOf(pageIds), hits.size());
+        }
+        return toSearchResult(publicationRepository.searchPublications(keyword, year, type, pageable));
+    }
+
+    /**
+     * 数据库分页结果转为缓存的ID列表和总数
+     */
+    private static SearchResult toSearchResult(Page<Publication> page) {
+        return new SearchResult(page.getContent().stream().map(Publication::getId).toList(), page.getTotalElements());
+    }
+
+    /**
+     * 搜索的分面统计：当前关键词下各年份、各类型、各教授的论文数（不应用年份、类型筛选）
+     *
+     * 一次查询得到三组计数：
+     * - index 检索后端：一次倒排索引匹配，遍历命中的论文计数
+     * - 其它情况：一条 GROUP BY (年份, 类型, 教授) 查询，在内存中汇总
+     * 结果与搜索结果一样按规范化后的关键词缓存
+     *
+     * @param keyword 关键词（可选）
+     * @return 分面统计
+     */
+    public PublicationFacets getFacets(String keyword) {
+        FacetKey key = new FacetKey(normalizeKeyword(keyword));
+
+        Cache cache = cacheManager.getCache(CacheConfig.PUBLICATION_SEARCH);
+        if (cache == null) {
+            return computeFacets(key.keyword());
+        }
+        return cache.get(key, () -> computeFacets(key.keyword()));
+    }
+
+    private PublicationFacets computeFacets(String keyword) {
+        if (keyword != null && SEARCH_BACKEND_INDEX.equals(searchBackend) && publicationSearchIndex.canSearch(keyword)) {
+            return publicationSearchIndex.facets(keyword);
+        }
+
+        List<PublicationFacetRow> rows = keyword != null && SEARCH_BACKEND_POSTGRES.equals(searchBackend)
+                ? publicationRepository.countFacetsFullText(keyword)
+                : publicationRepository.countFacets(keyword);
+        PublicationFacets.Counter counter = new PublicationFacets.Counter();
+        rows.forEach(counter::add);
+        return counter.build();
+    }
+
+    /**
+     * 规范化搜索关键词：去掉首尾空白、合并连续空白、转小写；空关键词返回 null
+     */
+    private static String normalizeKeyword(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(keyword.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * 搜索框自动补全（论文标题、作者、期刊）
+     *
+     * @param prefix 用户已输入的文字
+     * @param limit 最多返回条数
+     * @return 补全建议
+     */
+    public List<PublicationSuggester.Suggestion> suggest(String prefix, int limit) {
+        return publicationSuggester.suggest(prefix, Math.min(limit, PublicationSuggester.MAX_SUGGESTIONS));
+    }
+
+    /**
+     * 游标分页搜索论文（keyset分页，不使用OFFSET，默认不执行COUNT）
+     *
+     * 结果固定按 year DESC, id DESC 排序（不按相关度），游标记录上一页最后一条的 (year, id)。
+     * 有关键词且使用内存索引时，在索引命中结果中定位游标；否则走数据库keyset查询
+     * （postgres检索后端下使用与 searchPublications 相同的全文检索条件，两种分页方式返回同样的论文）。
+     * 关键词与 searchPublications 一样先规范化，只有空白的关键词视为无关键词。
+     *
+     * @param keyword 关键词（可选）
+     * @param year 年份（可选）
+     * @param type 类型（可选）
+     * @param cursor 上一页返回的游标（第一页传null或空字符串）
+     * @param size 每页数量（最大 MAX_CURSOR_PAGE_SIZE）
+     * @param includeTotal 是否返回总数（无筛选条件时使用数据库统计信息估算）
+     * @return 游标分页结果
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public CursorPage<Publication> searchPublicationsByCursor(String keyword, Integer year, PublicationType type,
+                                                             String cursor, int size, boolean includeTotal) {
+        PublicationCursor after = PublicationCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String normalized = normalizeKeyword(keyword);
+        boolean hasKeyword = normalized != null;
+
+        if (hasKeyword && SEARCH_BACKEND_INDEX.equals(searchBackend) && publicationSearchIndex.canSearch(normalized)) {
+            List<PublicationSearchIndex.Hit> hits = new ArrayList<>(publicationSearchIndex.search(normalized, year, type));
+            hits.sort(KEYSET_ORDER);
+
+            int from = 0;
+            if (after != null) {
+                PublicationSearchIndex.Hit cursorHit = new PublicationSearchIndex.Hit(after.id(), after.year(), 0);
+                while (from < hits.size() && KEYSET_ORDER.compare(hits.get(from), cursorHit) <= 0) {
+                    from++;
+                }
+            }
+            int to = Math.min(from + limit, hits.size());
+            List<PublicationSearchIndex.Hit> pageHits = hits.subList(from, to);
+
+            List<Publication> content = findAllByIdInOrder(pageHits.stream()
+                    .map(PublicationSearchIndex.Hit::publicationId)
+                    .collect(Collectors.toList()));
+            boolean hasNext = to < hits.size();
+            String nextCursor = null;
+            if (hasNext) {
+                PublicationSearchIndex.Hit last = pageHits.get(pageHits.size() - 1);
+                nextCursor = new PublicationCursor(last.year(), last.publicationId()).encode();
+            }
+            return new CursorPage<>(content, nextCursor, hasNext, includeTotal ? (long) hits.size() : null);
+        }
+
+        // 多查一条，用来判断是否还有下一页
+        Pageable limitPlusOne = PageRequest.of(0, limit + 1);
+        boolean fullText = hasKeyword && SEARCH_BACKEND_POSTGRES.equals(searchBackend);
+        String typeName = type != null ? type.name() : null;
+        List<Publication> rows;
+        if (after == null) {
+            rows = fullText
+                    ? publicationRepository.findKeysetFirstPageFullText(normalized, year, typeName, limitPlusOne)
+                    : publicationRepository.findKeysetFirstPage(normalized, year, type, limitPlusOne);
+        } else if (after.year() == null) {
+            rows = fullText
+                    ? publicationRepository.findKeysetPageAfterNullYearFullText(
+                            normalized, year, typeName, after.id(), limitPlusOne)
+                    : publicationRepository.findKeysetPageAfterNullYear(normalized, year, type, after.id(), limitPlusOne);
+        } else {
+            rows = fullText
+                    ? publicationRepository.findKeysetPageAfterFullText(
+                            normalized, year, typeName, after.year(), after.id(), limitPlusOne)
+                    : publicationRepository.findKeysetPageAfter(
+                            normalized, year, type, after.year(), after.id(), limitPlusOne);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<Publication> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Publication last = content.get(content.size() - 1);
+            nextCursor = new PublicationCursor(last.getYear(), last.getId()).encode();
+        }
+        Long total = includeTotal ? countForCursorPage(normalized, year, type) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total);
+    }
+
+    /**
+     * 游标分页的总数：无筛选条件时读取数据库统计信息（估算值），否则执行COUNT查询
+     * （关键词已规范化，为 null 表示无关键词）
+     */
+    private long countForCursorPage(String keyword, Integer year, PublicationType type) {
+        if (keyword == null && year == null && type == null) {
+            Long estimate = publicationRepository.estimatePublicationCount();
+            if (estimate != null && estimate >= 0) {
+                return estimate;
+            }
+        }
+        if (keyword != null && SEARCH_BACKEND_POSTGRES.equals(searchBackend)) {
+            return publicationRepository.countSearchPublicationsFullText(
+                    keyword, year, type != null ? type.name() : null);
+        }
+        return publicationRepository.countSearchPublications(keyword, year, type);
     }
 
     /**
-     * 获取所有年份列表（用于筛选器）
+     * 按给定ID顺序加载论文（一条IN查询，再按ID顺序重排）
      */
-    public List<Integer> getAllYears() {
-        return publicationRepository.findAllDistinctYears();
+    private List<Publication> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<Publication> publications = new ArrayList<>(publicationRepository.findAllById(ids));
+        publications.sort(Comparator.comparing(p -> position.get(p.getId())));
+        return publications;
     }
 }
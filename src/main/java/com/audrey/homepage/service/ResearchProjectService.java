@@ -1,5 +1,7 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.dto.ResearchProjectListItem;
+import com.audrey.homepage.dto.ResearchProjectListView;
 import com.audrey.homepage.entity.ResearchProject;
 import com.audrey.homepage.entity.ResearchProject.ProjectStatus;
 import com.audrey.homepage.repository.ResearchProjectRepository;
@@ -32,6 +34,27 @@ public class ResearchProjectService {
         return getProjectsByProfessorId(professorId);
     }
 
+    /**
+     * 查询所有项目列表项（REST 接口使用，只查询列表项中的列）
+     */
+    public List<ResearchProjectListItem> getProjectListItems() {
+        return researchProjectRepository.findAllListItems();
+    }
+
+    /**
+     * 根据教授ID查询项目列表项（REST 接口使用）
+     */
+    public List<ResearchProjectListItem> getProjectListItemsByProfessorId(Long professorId) {
+        return researchProjectRepository.findListItemsByProfessorId(professorId);
+    }
+
+    /**
+     * 后台项目列表（只查询列表上显示的列和纯文本摘要）
+     */
+    public List<ResearchProjectListView> getResearchProjectListViews(Long professorId) {
+        return researchProjectRepository.findListViewsByProfessorIdOrderByStartDateDesc(professorId);
+    }
+
     public Optional<ResearchProject> getResearchProjectById(Long id) {
         return getProjectById(id);
     }
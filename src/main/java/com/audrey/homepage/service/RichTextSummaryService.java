@@ -0,0 +1,158 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.config.CacheConfig;
+import com.audrey.homepage.config.TaskExecutorConfig;
+import com.audrey.homepage.dto.RichTextSource;
+import com.audrey.homepage.repository.AwardRepository;
+import com.audrey.homepage.repository.ProfessorRepository;
+import com.audrey.homepage.repository.ResearchProjectRepository;
+import com.audrey.homepage.repository.TeachingCourseRepository;
+import com.audrey.homepage.util.HtmlUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 富文本纯文本摘要补全服务
+ *
+ * 教授简介、项目描述、课程描述/大纲、奖项描述在保存时由实体回调生成纯文本摘要，
+ * 后台列表页面只查询摘要列，不再加载整段 TEXT 并在渲染时去标签。
+ * 本服务在应用启动后为摘要列仍为空的旧数据补全摘要：
+ * 1. 按ID分批读取富文本（只读取摘要为空的行）
+ * 2. 每批数据在一个事务中写入摘要；补全期间保存过的数据不覆盖
+ * 3. 有数据更新时清空缓存的教授数据（教授卡片中包含简介摘要）
+ */
+@Service
+public class RichTextSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RichTextSummaryService.class);
+
+    /**
+     * 每批处理的数据行数
+     */
+    private static final int BATCH_SIZE = 200;
+
+    /**
+     * 按ID写入一行数据的摘要
+     */
+    @FunctionalInterface
+    private interface SummaryUpdater {
+        int update(Long id, String summary);
+    }
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+
+    @Autowired
+    private TeachingCourseRepository teachingCourseRepository;
+
+    @Autowired
+    private AwardRepository awardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.SUMMARY_BACKFILL_TASK_EXECUTOR)
+    private TaskExecutor summaryBackfillTaskExecutor;
+
+    /**
+     * 应用启动完成后，在后台线程补全摘要
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAsync() {
+        try {
+            summaryBackfillTaskExecutor.execute(() -> {
+                try {
+                    int updated = backfill();
+                    if (updated > 0) {
+                        log.info("富文本摘要补全完成：{} 条", updated);
+                    }
+                } catch (Exception e) {
+                    log.warn("富文本摘要补全失败", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("富文本摘要补全任务提交失败，下次启动时再补全");
+        }
+    }
+
+    /**
+     * 为摘要列为空的数据补全摘要
+     *
+     * @return 更新的行数
+     */
+    public int backfill() {
+        int updated = 0;
+        updated += backfillColumn(professorRepository::findBiographiesWithoutSummaryAfter,
+                professorRepository::updateBiographySummary);
+        updated += backfillColumn(researchProjectRepository::findDescriptionsWithoutSummaryAfter,
+                researchProjectRepository::updateDescriptionSummary);
+        updated += backfillColumn(teachingCourseRepository::findDescriptionsWithoutSummaryAfter,
+                teachingCourseRepository::updateDescriptionSummary);
+        updated += backfillColumn(teachingCourseRepository::findSyllabiWithoutSummaryAfter,
+                teachingCourseRepository::updateSyllabusSummary);
+        updated += backfillColumn(awardRepository::findDescriptionsWithoutSummaryAfter,
+                awardRepository::updateDescriptionSummary);
+
+        // 批量更新不经过服务层，手动清空教授列表缓存
+        // （Hibernate 二级缓存在执行批量更新时已自动失效；公开页面不显示摘要，页面缓存不受影响）
+        if (updated > 0) {
+            Cache cache = cacheManager.getCache(CacheConfig.PROFESSOR_LISTS);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 以ID为游标分批补全一列摘要
+     */
+    private int backfillColumn(BiFunction<Long, Pageable, List<RichTextSource>> query, SummaryUpdater updater) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long afterId = 0;
+        int updated = 0;
+        List<RichTextSource> rows;
+        do {
+            rows = query.apply(afterId, batch);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+
+            List<RichTextSource> current = rows;
+            Integer count = transactionTemplate.execute(status -> {
+                int n = 0;
+                for (RichTextSource row : current) {
+                    n += updater.update(row.getId(), HtmlUtil.summarize(row.getText()));
+                }
+                return n;
+            });
+            updated += count == null ? 0 : count;
+        } while (rows.size() == BATCH_SIZE);
+        return updated;
+    }
+}
@@ -1,5 +1,7 @@
 package com.audrey.homepage.service;
 
+import com.audrey.homepage.dto.TeachingCourseListItem;
+import com.audrey.homepage.dto.TeachingCourseListView;
 import com.audrey.homepage.entity.TeachingCourse;
 import com.audrey.homepage.repository.TeachingCourseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,27 @@ public class TeachingCourseService {
         return getCoursesByProfessorId(professorId);
     }
 
+    /**
+     * 查询所有课程列表项（REST 接口使用，只查询列表项中的列）
+     */
+    public List<TeachingCourseListItem> getCourseListItems() {
+        return teachingCourseRepository.findAllListItems();
+    }
+
+    /**
+     * 根据教授ID查询课程列表项（REST 接口使用）
+     */
+    public List<TeachingCourseListItem> getCourseListItemsByProfessorId(Long professorId) {
+        return teachingCourseRepository.findListItemsByProfessorId(professorId);
+    }
+
+    /**
+     * 后台课程列表（只查询列表上显示的列和纯文本摘要）
+     */
+    public List<TeachingCourseListView> getTeachingCourseListViews(Long professorId) {
+        return teachingCourseRepository.findListViewsByProfessorIdOrderByYearDescSemesterAsc(professorId);
+    }
+
     public Optional<TeachingCourse> getTeachingCourseById(Long id) {
         return getCourseById(id);
     }
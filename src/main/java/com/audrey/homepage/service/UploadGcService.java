@@ -0,0 +1,321 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.config.TaskExecutorConfig;
+import com.audrey.homepage.dto.UploadGcReport;
+import com.audrey.homepage.dto.UploadReference;
+import com.audrey.homepage.repository.ContactInfoRepository;
+import com.audrey.homepage.repository.ProfessorRepository;
+import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.ResearchProjectRepository;
+import com.audrey.homepage.repository.TeachingCourseRepository;
+import com.audrey.homepage.util.ContentAddressedStore;
+import com.audrey.homepage.util.UploadPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 无用上传文件清理服务（标记-清除）
+ *
+ * 1. 标记：按ID分批读取数据库中引用的文件URL
+ *    （教授头像、论文PDF、微信二维码、课程资料JSON、项目图片JSON）
+ * 2. 清除：遍历 uploads/ 目录，删除没有被引用的文件，每满一批删除一次
+ *
+ * 说明：
+ * - 缩略图（xxx_160.jpg）和预压缩文件（xxx.pdf.gz）随原文件一起判断是否被引用
+ * - 以 . 开头的目录（引用计数、分片上传暂存）不扫描
+ * - 最近24小时内上传或重新上传的文件不删除：课程资料上传后要等保存表单才写入数据库
+ * - dryRun 只生成报告不删除；定时清理默认也是 dryRun，见 uploads.gc.delete
+ */
+@Service
+public class UploadGcService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGcService.class);
+
+    private static final Path UPLOAD_ROOT = Paths.get("uploads");
+
+    /**
+     * 每批读取的数据行数、每批删除的文件数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final long GRACE_PERIOD_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * 报告中最多列出的文件数
+     */
+    private static final int MAX_REPORTED_ORPHANS = 1000;
+
+    /**
+     * 缩略图：原文件名（不含扩展名）_尺寸.格式
+     */
+    private static final Pattern DERIVATIVE = Pattern.compile("(.+)_\\d+\\.(jpg|png|webp)");
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private ContactInfoRepository contactInfoRepository;
+
+    @Autowired
+    private TeachingCourseRepository teachingCourseRepository;
+
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.UPLOAD_MAINTENANCE_TASK_EXECUTOR)
+    private TaskExecutor uploadMaintenanceTaskExecutor;
+
+    /**
+     * 定时清理是否真正删除文件（默认只生成报告）
+     */
+    @Value("${uploads.gc.delete:false}")
+    private boolean scheduledDelete;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile UploadGcReport lastReport;
+
+    /**
+     * 最近一次清理的报告（从未运行时为 null）
+     */
+    public UploadGcReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 是否正在清理
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 在后台线程开始清理
+     *
+     * @param dryRun 是否只检查不删除
+     * @return 是否已开始（已有清理在运行时返回 false）
+     */
+    public boolean startAsync(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            uploadMaintenanceTaskExecutor.execute(() -> {
+                try {
+                    run(dryRun);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * 定时清理（默认每天凌晨3:30）
+     */
+    @Scheduled(cron = "${uploads.gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            run(!scheduledDelete);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void run(boolean dryRun) {
+        try {
+            UploadGcReport report = collect(dryRun);
+            lastReport = report;
+            log.info("上传文件清理完成（dryRun={}）：扫描 {} 个文件，无人引用 {} 个（{} 字节），删除 {} 个",
+                    report.dryRun(), report.scannedFiles(), report.orphanFiles(),
+                    report.orphanBytes(), report.deletedFiles());
+        } catch (Exception e) {
+            log.warn("上传文件清理失败", e);
+        }
+    }
+
+    private UploadGcReport collect(boolean dryRun) throws IOException {
+        Instant startedAt = Instant.now();
+        long deadline = startedAt.toEpochMilli() - GRACE_PERIOD_MILLIS;
+
+        // 1. 标记
+        Set<String> referenced = new HashSet<>();
+        markReferences(professorRepository::findAvatarUrlsAfter, referenced);
+        markReferences(publicationRepository::findPdfUrlsAfter, referenced);
+        markReferences(contactInfoRepository::findWechatQrcodesAfter, referenced);
+        markReferences(teachingCourseRepository::findMaterialsAfter, referenced);
+        markReferences(researchProjectRepository::findImagesAfter, referenced);
+
+        Set<String> referencedBases = new HashSet<>();
+        for (String url : referenced) {
+            int dot = url.lastIndexOf('.');
+            if (dot > url.lastIndexOf('/')) {
+                referencedBases.add(url.substring(0, dot));
+            }
+        }
+
+        // 2. 清除
+        Sweeper sweeper = new Sweeper(referenced, referencedBases, deadline, dryRun);
+        if (Files.isDirectory(UPLOAD_ROOT)) {
+            Files.walkFileTree(UPLOAD_ROOT, sweeper);
+        }
+        sweeper.flush();
+
+        return new UploadGcReport(dryRun, startedAt, Instant.now(), referenced.size(),
+                sweeper.scanned, sweeper.recent, sweeper.orphanCount, sweeper.orphanBytes,
+                sweeper.deleted, sweeper.reported);
+    }
+
+    /**
+     * 以ID为游标分批读取一张表中引用的文件URL
+     */
+    private static void markReferences(BiFunction<Long, Pageable, List<UploadReference>> query,
+                                       Set<String> referenced) {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long afterId = 0;
+        List<UploadReference> rows;
+        do {
+            rows = query.apply(afterId, batch);
+            for (UploadReference row : rows) {
+                Matcher matcher = UploadPaths.UPLOAD_URL.matcher(row.getReference());
+                while (matcher.find()) {
+                    referenced.add(matcher.group());
+                }
+                afterId = row.getId();
+            }
+        } while (rows.size() == BATCH_SIZE);
+    }
+
+    /**
+     * 遍历上传目录，收集无人引用的文件，每满一批删除一次
+     */
+    private static class Sweeper extends SimpleFileVisitor<Path> {
+
+        private final Set<String> referenced;
+        private final Set<String> referencedBases;
+        private final long deadline;
+        private final boolean dryRun;
+
+        private final List<String> batch = new ArrayList<>();
+        private final List<String> reported = new ArrayList<>();
+        private int scanned;
+        private int recent;
+        private int orphanCount;
+        private long orphanBytes;
+        private int deleted;
+
+        Sweeper(Set<String> referenced, Set<String> referencedBases, long deadline, boolean dryRun) {
+            this.referenced = referenced;
+            this.referencedBases = referencedBases;
+            this.deadline = deadline;
+            this.dryRun = dryRun;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            // 跳过 .refs、.chunks 等内部目录
+            return !dir.equals(UPLOAD_ROOT) && dir.getFileName().toString().startsWith(".")
+                    ? FileVisitResult.SKIP_SUBTREE
+                    : FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            if (!attrs.isRegularFile() || file.getFileName().toString().startsWith(".")) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            scanned++;
+            String url = "/uploads/" + UPLOAD_ROOT.relativize(file).toString().replace('\\', '/');
+            if (isReferenced(url)) {
+                return FileVisitResult.CONTINUE;
+            }
+            if (attrs.lastModifiedTime().toMillis() >= deadline) {
+                recent++;
+                return FileVisitResult.CONTINUE;
+            }
+
+            orphanCount++;
+            orphanBytes += attrs.size();
+            if (reported.size() < MAX_REPORTED_ORPHANS) {
+                reported.add(url);
+            }
+            if (!dryRun) {
+                batch.add(url);
+                if (batch.size() >= BATCH_SIZE) {
+                    flush();
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            log.warn("无法读取文件：{}", file, e);
+            return FileVisitResult.CONTINUE;
+        }
+
+        private boolean isReferenced(String url) {
+            if (referenced.contains(url)) {
+                return true;
+            }
+
+            // 预压缩文件：xxx.pdf.gz / xxx.pdf.br
+            if (url.endsWith(".gz") || url.endsWith(".br")) {
+                return isReferenced(url.substring(0, url.length() - 3));
+            }
+
+            // 缩略图：xxx_160.jpg / xxx_160.webp
+            Matcher matcher = DERIVATIVE.matcher(url);
+            return matcher.matches() && referencedBases.contains(matcher.group(1));
+        }
+
+        void flush() throws IOException {
+            for (String url : batch) {
+                if (ContentAddressedStore.purge(url, deadline)) {
+                    deleted++;
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.cache.ContentRevision;
+import com.audrey.homepage.config.TaskExecutorConfig;
+import com.audrey.homepage.dto.UploadMigrationReport;
+import com.audrey.homepage.dto.UploadReference;
+import com.audrey.homepage.repository.ContactInfoRepository;
+import com.audrey.homepage.repository.ProfessorRepository;
+import com.audrey.homepage.repository.PublicationRepository;
+import com.audrey.homepage.repository.PublicationTextRepository;
+import com.audrey.homepage.repository.ResearchProjectRepository;
+import com.audrey.homepage.repository.TeachingCourseRepository;
+import com.audrey.homepage.util.ContentAddressedStore;
+import com.audrey.homepage.util.UploadPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+
+/**
+ * 上传目录迁移服务（平铺目录 → 分目录）
+ *
+ * 新上传的文件已经按 UploadPaths 的规则分目录存放，本服务把旧的平铺文件迁移过去：
+ * 1. 按ID分批读取各表中引用的文件URL（与无用文件清理相同的查询）
+ * 2. 为文件（以及缩略图、预压缩文件、引用计数）在新路径建立硬链接
+ * 3. 每批数据在一个事务中更新URL；数据在迁移期间被修改过时不更新
+ *    （论文PDF的地址连同已提取的全文记录一起改写，全文不会因为地址变化被当作过期）
+ * 4. 所有表都更新完后，删除旧路径，清空服务层缓存和页面缓存
+ *
+ * 中途失败时旧路径仍然有效，可以重新运行；多出来的新路径会被无用文件清理回收。
+ */
+@Service
+public class UploadLayoutMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadLayoutMigrationService.class);
+
+    /**
+     * 每批处理的数据行数
+     */
+    private static final int BATCH_SIZE = 200;
+
+    /**
+     * 随原文件一起迁移的缩略图格式
+     */
+    private static final String[] DERIVATIVE_FORMATS = {"jpg", "png", "webp"};
+
+    /**
+     * 随原文件一起迁移的预压缩文件后缀
+     */
+    private static final String[] COMPRESSED_SUFFIXES = {".gz", ".br"};
+
+    /**
+     * 按ID、旧值、新值更新一行数据
+     */
+    @FunctionalInterface
+    private interface ReferenceUpdater {
+        int update(Long id, String oldValue, String newValue);
+    }
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private PublicationTextRepository publicationTextRepository;
+
+    @Autowired
+    private ContactInfoRepository contactInfoRepository;
+
+    @Autowired
+    private TeachingCourseRepository teachingCourseRepository;
+
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ContentRevision contentRevision;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.UPLOAD_MAINTENANCE_TASK_EXECUTOR)
+    private TaskExecutor uploadMaintenanceTaskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile UploadMigrationReport lastReport;
+
+    /**
+     * 最近一次迁移的报告（从未运行时为 null）
+     */
+    public UploadMigrationReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 是否正在迁移
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 在后台线程开始迁移
+     *
+     * @return 是否已开始（已有迁移在运行时返回 false）
+     */
+    public boolean startAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            uploadMaintenanceTaskExecutor.execute(() -> {
+                try {
+                    lastReport = migrate();
+                    log.info("上传目录迁移完成：{}", lastReport);
+                } catch (Exception e) {
+                    log.warn("上传目录迁移失败", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * 迁移所有平铺存放的上传文件
+     *
+     * @return 迁移报告
+     * @throws IOException 文件操作异常
+     */
+    public UploadMigrationReport migrate() throws IOException {
+        Progress progress = new Progress();
+
+        // 1. 逐表迁移文件并更新URL
+        migrateTable(professorRepository::findAvatarUrlsAfter, professorRepository::updateAvatarUrl, progress);
+        migrateTable(publicationRepository::findPdfUrlsAfter, this::updatePublicationPdfUrl, progress);
+        migrateTable(contactInfoRepository::findWechatQrcodesAfter, contactInfoRepository::updateWechatQrcode, progress);
+        migrateTable(teachingCourseRepository::findMaterialsAfter, teachingCourseRepository::updateMaterials, progress);
+        migrateTable(researchProjectRepository::findImagesAfter, researchProjectRepository::updateImages, progress);
+
+        // 2. 所有引用都已更新，删除旧路径
+        //    有数据在迁移期间被修改（未更新）时，它可能仍引用旧路径，旧路径留给无用文件清理判断
+        if (progress.skippedRows == 0) {
+            for (String url : progress.oldUrls) {
+                ContentAddressedStore.purge(url, Long.MAX_VALUE);
+            }
+        }
+
+        // 3. 批量更新不经过实体监听器，手动清空服务层缓存并更新页面缓存版本
+        //    （Hibernate 二级缓存在执行批量更新时已自动失效）
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        contentRevision.bump();
+
+        return new UploadMigrationReport(progress.startedAt, Instant.now(), progress.movedFiles,
+                progress.updatedRows, progress.skippedRows, progress.missingFiles);
+    }
+
+    /**
+     * 以ID为游标分批迁移一张表
+     */
+    private void migrateTable(BiFunction<Long, Pageable, List<UploadReference>> query,
+                              ReferenceUpdater updater, Progress progress) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long afterId = 0;
+        List<UploadReference> rows;
+        do {
+            rows = query.apply(afterId, batch);
+
+            // 先建立新路径，再在一个事务中更新这一批数据
+            List<Change> changes = new ArrayList<>();
+            for (UploadReference row : rows) {
+                String oldValue = row.getReference();
+                String newValue = rewrite(oldValue, progress);
+                if (!newValue.equals(oldValue)) {
+                    changes.add(new Change(row.getId(), oldValue, newValue));
+                }
+                afterId = row.getId();
+            }
+
+            if (!changes.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Change change : changes) {
+                        if (updater.update(change.id(), change.oldValue(), change.newValue()) == 1) {
+                            progress.updatedRows++;
+                        } else {
+                            progress.skippedRows++;
+                        }
+                    }
+                });
+            }
+        } while (rows.size() == BATCH_SIZE);
+    }
+
+    /**
+     * 改写论文的PDF地址，成功时在同一事务中改写全文记录的PDF地址
+     * （全文以PDF地址判断是否过期，只改论文会导致全部重新提取）
+     */
+    private int updatePublicationPdfUrl(Long id, String oldValue, String newValue) {
+        int updated = publicationRepository.updatePdfUrl(id, oldValue, newValue);
+        if (updated == 1) {
+            publicationTextRepository.updatePdfUrl(id, oldValue, newValue);
+        }
+        return updated;
+    }
+
+    /**
+     * 把字段值（URL 或 JSON）中的平铺URL替换为分目录URL
+     */
+    private String rewrite(String value, Progress progress) throws IOException {
+        Matcher matcher = UploadPaths.UPLOAD_URL.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String newUrl = relocate(matcher.group(), progress);
+            matcher.appendReplacement(result, Matcher.quoteReplacement(newUrl));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * 为文件及其缩略图、预压缩文件建立新路径
+     *
+     * @return 新URL；文件已是分目录存放或不存在时返回原URL
+     */
+    private String relocate(String url, Progress progress) throws IOException {
+        String newUrl = UploadPaths.shardedUrl(url);
+        if (newUrl == null || progress.relocated.contains(url)) {
+            return newUrl == null ? url : newUrl;
+        }
+
+        if (ContentAddressedStore.link(url, newUrl)) {
+            progress.movedFiles++;
+            progress.oldUrls.add(url);
+
+            for (int size : ImageDerivativeService.SIZES) {
+                for (String format : DERIVATIVE_FORMATS) {
+                    linkSibling(ImageDerivativeService.derivativeUrl(url, size, format),
+                            ImageDerivativeService.derivativeUrl(newUrl, size, format), progress);
+                }
+            }
+            for (String suffix : COMPRESSED_SUFFIXES) {
+                linkSibling(url + suffix, newUrl + suffix, progress);
+            }
+        } else if (!Files.exists(Paths.get(newUrl.substring(1)))) {
+            // 文件已丢失，保留原URL
+            progress.missingFiles++;
+            return url;
+        }
+
+        progress.relocated.add(url);
+        return newUrl;
+    }
+
+    private static void linkSibling(String url, String newUrl, Progress progress) throws IOException {
+        if (ContentAddressedStore.link(url, newUrl)) {
+            progress.movedFiles++;
+            progress.oldUrls.add(url);
+        }
+    }
+
+    /**
+     * 一行数据的URL变更
+     */
+    private record Change(Long id, String oldValue, String newValue) {
+    }
+
+    /**
+     * 迁移进度
+     */
+    private static class Progress {
+        private final Instant startedAt = Instant.now();
+        private final Set<String> relocated = new HashSet<>();
+        private final List<String> oldUrls = new ArrayList<>();
+        private int movedFiles;
+        private int updatedRows;
+        private int skippedRows;
+        private int missingFiles;
+    }
+}
@@ -0,0 +1,94 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.util.FileUploadUtil;
+import com.audrey.homepage.util.UploadPaths;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+
+/**
+ * 上传文件引用释放服务
+ *
+ * 数据库中的记录被删除，或记录引用的文件被替换时，释放原文件的引用
+ * （见 FileUploadUtil.deleteFile：最后一个引用释放时才删除文件，缩略图一并删除）。
+ *
+ * 在事务中调用时推迟到事务提交后释放，回滚时文件保持不变。
+ */
+@Service
+public class UploadReleaseService {
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    /**
+     * 记录引用的文件被替换（或清空）时，释放原文件
+     *
+     * @param oldUrl 原文件URL（可以为空）
+     * @param newUrl 新文件URL（可以为空）
+     */
+    public void releaseReplaced(String oldUrl, String newUrl) {
+        if (oldUrl == null || oldUrl.isEmpty() || Objects.equals(oldUrl, newUrl)) {
+            return;
+        }
+        release(List.of(oldUrl));
+    }
+
+    /**
+     * 释放一组文件（空值忽略）
+     *
+     * @param urls 文件URL
+     */
+    public void release(Collection<String> urls) {
+        List<String> files = urls.stream()
+                .filter(url -> url != null && !url.isEmpty())
+                .toList();
+        if (files.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(files);
+                }
+            });
+        } else {
+            releaseNow(files);
+        }
+    }
+
+    /**
+     * 取出文本（如课程资料的JSON）中的全部上传文件URL
+     *
+     * @param text 文本（可以为null）
+     * @return 文件URL列表
+     */
+    public static List<String> extractUrls(String text) {
+        List<String> urls = new ArrayList<>();
+        if (text == null) {
+            return urls;
+        }
+        Matcher matcher = UploadPaths.UPLOAD_URL.matcher(text);
+        while (matcher.find()) {
+            urls.add(matcher.group());
+        }
+        return urls;
+    }
+
+    private void releaseNow(List<String> files) {
+        for (String url : files) {
+            // 文件可能被多处共用，文件真正删除时才删除缩略图
+            if (FileUploadUtil.deleteFile(url)) {
+                imageDerivativeService.deleteDerivatives(url);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.audrey.homepage.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 内容寻址的文件存储
+ *
+ * 功能：
+ * 1. 复制文件的同时计算 SHA-256，文件以摘要命名，按摘要前4个字符分两级子目录存放
+ *    （如：/uploads/pdfs/9f/86/9f86d0...15b0.pdf，见 UploadPaths）
+ * 2. 内容相同的文件只保存一份，多次上传共用同一个URL
+ * 3. 记录引用计数，只有最后一个引用被删除时才删除文件
+ *
+ * 引用计数保存在 uploads/.refs 目录下，与文件路径一一对应
+ * （如：uploads/.refs/pdfs/9f/86/9f86d0...15b0.pdf 的内容为 "2"）。
+ * 文件名由内容决定，同一URL的内容永远不会变化，可以放心长期缓存。
+ */
+public final class ContentAddressedStore {
+
+    /**
+     * 上传根目录（相对于项目根目录）
+     */
+    private static final Path UPLOAD_ROOT = Paths.get("uploads");
+
+    /**
+     * 引用计数目录（以 . 开头，不对外提供访问）
+     */
+    private static final Path REFS_ROOT = UPLOAD_ROOT.resolve(".refs");
+
+    /**
+     * 上传根目录所在的目录（默认为当前工作目录，单元测试时指向临时目录）
+     */
+    private static volatile Path baseDirectory = Paths.get("");
+
+    /**
+     * 创建硬链接（单元测试时替换，模拟文件系统不支持硬链接）
+     */
+    private static volatile HardLinker hardLinker = Files::createLink;
+
+    /**
+     * 引用计数的读改写需要互斥；只保护很短的文件操作，复制和计算摘要在锁外完成
+     */
+    private static final Object LOCK = new Object();
+
+    private ContentAddressedStore() {
+    }
+
+    /**
+     * 创建硬链接的方法
+     */
+    @FunctionalInterface
+    interface HardLinker {
+        void createLink(Path link, Path existing) throws IOException;
+    }
+
+    /**
+     * 设置上传根目录所在的目录（单元测试使用）
+     */
+    static void setBaseDirectory(Path directory) {
+        baseDirectory = directory;
+    }
+
+    /**
+     * 设置创建硬链接的方法（单元测试使用）
+     */
+    static void setHardLinker(HardLinker linker) {
+        hardLinker = linker;
+    }
+
+    /**
+     * 保存文件
+     *
+     * @param input 文件内容（由调用方负责关闭）
+     * @param uploadDir 上传目录（如：uploads/pdfs）
+     * @param extension 文件扩展名（如：.pdf），可以为空字符串
+     * @return 文件相对路径（如：/uploads/pdfs/9f/86/9f86d0...15b0.pdf）
+     * @throws IOException 文件操作异常
+     */
+    public static String store(InputStream input, String uploadDir, String extension) throws IOException {
+        Path directory = baseDirectory.resolve(uploadDir);
+        Files.createDirectories(directory);
+
+        // 1. 写入同目录下的临时文件，同时计算摘要
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            Files.copy(new DigestInputStream(input, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+
+            String filename = HexFormat.of().formatHex(digest.digest()) + extension.toLowerCase(Locale.ROOT);
+            String url = UploadPaths.shardedUrl("/" + uploadDir + "/" + filename);
+            Path blob = baseDirectory.resolve(url.substring(1));
+
+            // 2. 已有相同内容时丢弃临时文件，否则原子重命名为正式文件；引用计数加一
+            //    已有文件更新修改时间，避免被无用文件清理当作长期无人引用的文件删除
+            synchronized (LOCK) {
+                if (Files.exists(blob)) {
+                    Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+                Path ref = refPath(blob);
+                writeRefCount(ref, readRefCount(ref) + 1);
+            }
+
+            return url;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 释放一个引用，最后一个引用释放时删除文件
+     *
+     * 没有引用计数记录的文件（内容寻址存储之前上传的旧文件）视为只有一个引用
+     *
+     * @param filePath 文件路径（如：/uploads/pdfs/xxx.pdf）
+     * @return 文件是否被删除
+     * @throws IOException 文件操作异常
+     * @throws IllegalArgumentException 路径不在上传目录内
+     */
+    public static boolean release(String filePath) throws IOException {
+        Path blob = toPath(filePath);
+        synchronized (LOCK) {
+            Path ref = refPath(blob);
+            int count = readRefCount(ref);
+            if (count > 1) {
+                writeRefCount(ref, count - 1);
+                return false;
+            }
+
+            Files.deleteIfExists(ref);
+            return Files.deleteIfExists(blob);
+        }
+    }
+
+    /**
+     * 删除无人引用的文件（不论引用计数），同时删除引用计数记录
+     * 在锁内再次检查修改时间，期间被重新上传（修改时间更新）的文件不删除
+     *
+     * @param filePath 文件路径（如：/uploads/pdfs/xxx.pdf）
+     * @param modifiedBefore 只删除修改时间早于该时间（毫秒）的文件
+     * @return 文件是否被删除
+     * @throws IOException 文件操作异常
+     * @throws IllegalArgumentException 路径不在上传目录内
+     */
+    public static boolean purge(String filePath, long modifiedBefore) throws IOException {
+        Path blob = toPath(filePath);
+        synchronized (LOCK) {
+            if (!Files.isRegularFile(blob) || Files.getLastModifiedTime(blob).toMillis() >= modifiedBefore) {
+                return false;
+            }
+
+            Files.deleteIfExists(refPath(blob));
+            return Files.deleteIfExists(blob);
+        }
+    }
+
+    /**
+     * 为文件增加一个新路径（目录迁移使用），引用计数一并复制
+     * 优先使用硬链接（不复制内容），文件系统不支持时复制文件；
+     * 新路径的修改时间更新为当前时间，避免迁移期间被无用文件清理删除
+     *
+     * @param fromUrl 原路径（如：/uploads/pdfs/xxx.pdf）
+     * @param toUrl 新路径（如：/uploads/pdfs/ab/cd/xxx.pdf）
+     * @return 原文件是否存在
+     * @throws IOException 文件操作异常
+     * @throws IllegalArgumentException 路径不在上传目录内
+     */
+    public static boolean link(String fromUrl, String toUrl) throws IOException {
+        Path source = toPath(fromUrl);
+        Path target = toPath(toUrl);
+        synchronized (LOCK) {
+            if (!Files.isRegularFile(source)) {
+                return false;
+            }
+
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    hardLinker.createLink(target, source);
+                } catch (UnsupportedOperationException | IOException e) {
+                    Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+
+            Path sourceRef = refPath(source);
+            if (Files.exists(sourceRef)) {
+                writeRefCount(refPath(target), readRefCount(sourceRef));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 查询文件的引用计数（没有记录时返回0）
+     *
+     * @param filePath 文件路径（如：/uploads/pdfs/xxx.pdf）
+     * @return 引用计数
+     * @throws IOException 文件操作异常
+     */
+    public static int refCount(String filePath) throws IOException {
+        synchronized (LOCK) {
+            return readRefCount(refPath(toPath(filePath)));
+        }
+    }
+
+    /**
+     * URL 转换为磁盘路径，不允许超出上传目录
+     */
+    private static Path toPath(String filePath) {
+        String relative = filePath.startsWith("/") ? filePath.substring(1) : filePath;
+        Path blob = Paths.get(relative).normalize();
+        if (!blob.startsWith(UPLOAD_ROOT) || blob.startsWith(REFS_ROOT)) {
+            throw new IllegalArgumentException("文件路径不在上传目录内：" + filePath);
+        }
+        return baseDirectory.resolve(blob);
+    }
+
+    private static Path refPath(Path blob) {
+        Path base = baseDirectory;
+        return base.resolve(REFS_ROOT).resolve(base.resolve(UPLOAD_ROOT).relativize(blob));
+    }
+
+    private static int readRefCount(Path ref) throws IOException {
+        if (!Files.exists(ref)) {
+            return 0;
+        }
+        return Integer.parseInt(Files.readString(ref).trim());
+    }
+
+    private static void writeRefCount(Path ref, int count) throws IOException {
+        Files.createDirectories(ref.getParent());
+        Files.writeString(ref, Integer.toString(count));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 所有JDK都必须支持SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
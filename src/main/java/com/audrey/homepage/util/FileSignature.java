@@ -0,0 +1,146 @@
+package com.audrey.homepage.util;
+
+import java.util.Locale;
+
+/**
+ * 文件签名（文件开头的固定字节，即"魔数"）
+ *
+ * 用于根据文件内容判断真实类型，而不是相信客户端提供的 Content-Type
+ */
+public enum FileSignature {
+
+    /**
+     * JPEG：FF D8 FF
+     */
+    JPEG("JPEG 图片", new int[]{0xFF, 0xD8, 0xFF}),
+
+    /**
+     * PNG：89 P N G \r \n 1A \n
+     */
+    PNG("PNG 图片", new int[]{0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}),
+
+    /**
+     * GIF：GIF87a / GIF89a
+     */
+    GIF("GIF 图片", new int[]{'G', 'I', 'F', '8'}),
+
+    /**
+     * WebP：RIFF ???? WEBP（第4~7字节为文件长度）
+     */
+    WEBP("WebP 图片", new int[]{'R', 'I', 'F', 'F', FileSignature.ANY, FileSignature.ANY, FileSignature.ANY, FileSignature.ANY,
+            'W', 'E', 'B', 'P'}),
+
+    /**
+     * PDF：%PDF-
+     */
+    PDF("PDF 文档", new int[]{'%', 'P', 'D', 'F', '-'}),
+
+    /**
+     * Office Open XML（.docx、.pptx，ZIP 容器：PK\3\4）
+     */
+    OOXML("Word/PowerPoint 文档（.docx/.pptx）", new int[]{'P', 'K', 3, 4}),
+
+    /**
+     * OLE 复合文档（旧版 .doc、.ppt 文件）
+     */
+    OLE("旧版 Word/PowerPoint 文档（.doc/.ppt）", new int[]{0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1});
+
+    /**
+     * 判断文件类型最多需要读取的字节数
+     */
+    public static final int MAX_LENGTH = 12;
+
+    /**
+     * values() 每次调用都会复制数组，检测时使用这个缓存的数组
+     */
+    private static final FileSignature[] ALL = values();
+
+    /**
+     * 类型名称（用于提示信息）
+     */
+    private final String label;
+
+    /**
+     * 签名字节，ANY 表示该位置可以是任意字节
+     */
+    private final int[] magic;
+
+    FileSignature(String label, int[] magic) {
+        this.label = label;
+        this.magic = magic;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 文件开头是否与签名一致
+     *
+     * @param header 文件开头的字节
+     * @param length header 中有效字节数
+     */
+    public boolean matches(byte[] header, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != ANY && (header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 根据文件开头的字节判断文件类型
+     *
+     * @param header 文件开头的字节
+     * @param length header 中有效字节数
+     * @return 文件类型，无法识别时返回 null
+     */
+    public static FileSignature detect(byte[] header, int length) {
+        for (FileSignature signature : ALL) {
+            if (signature.matches(header, length)) {
+                return signature;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据扩展名获取文件应有的签名
+     *
+     * @param extension 扩展名（如：.pdf，不区分大小写）
+     * @return 签名，不支持的扩展名返回 null
+     */
+    public static FileSignature forExtension(String extension) {
+        switch (extension.toLowerCase(Locale.ROOT)) {
+            case ".jpg":
+            case ".jpeg":
+                return JPEG;
+            case ".png":
+                return PNG;
+            case ".gif":
+                return GIF;
+            case ".webp":
+                return WEBP;
+            case ".pdf":
+                return PDF;
+            case ".docx":
+            case ".pptx":
+                return OOXML;
+            case ".doc":
+            case ".ppt":
+                return OLE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 签名中表示任意字节的占位值
+     * （声明在枚举常量之后，枚举常量中须以 FileSignature.ANY 引用）
+     */
+    private static final int ANY = -1;
+}
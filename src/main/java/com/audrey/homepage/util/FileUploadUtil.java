@@ -2,23 +2,18 @@ package com.audrey.homepage.util;
 
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Arrays;
-import java.util.List;
-import java.util.UUID;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * 文件上传工具类
  *
  * 功能：
- * 1. 保存上传的文件到指定目录
- * 2. 生成唯一的文件名（避免冲突）
- * 3. 验证文件类型（只允许图片）
+ * 1. 保存上传的文件到指定目录（内容寻址存储，相同内容只保存一份）
+ * 2. 以内容摘要作为文件名（见 ContentAddressedStore）
+ * 3. 验证文件类型（根据文件开头的字节识别，保存时边写入边校验，见 ValidatingInputStream）
  * 4. 删除文件
  *
  * @author Claude
@@ -27,20 +22,35 @@ import java.util.UUID;
 public class FileUploadUtil {
 
     /**
-     * 允许上传的图片类型（MIME类型）
-     * MIME类型是文件的真实类型，不是扩展名
+     * 允许上传的图片类型
+     * 根据文件开头的字节识别真实类型（见 ValidatingInputStream），不相信客户端提供的MIME类型
      */
-    private static final List<String> ALLOWED_IMAGE_TYPES = Arrays.asList(
-            "image/jpeg",    // .jpg, .jpeg
-            "image/png",     // .png
-            "image/gif",     // .gif
-            "image/webp"     // .webp (现代图片格式)
+    private static final Set<FileSignature> IMAGE_TYPES = EnumSet.of(
+            FileSignature.JPEG,    // .jpg, .jpeg
+            FileSignature.PNG,     // .png
+            FileSignature.GIF,     // .gif
+            FileSignature.WEBP     // .webp (现代图片格式)
     );
 
     /**
      * 允许上传的PDF类型
      */
-    private static final String ALLOWED_PDF_TYPE = "application/pdf";
+    private static final Set<FileSignature> PDF_TYPES = EnumSet.of(FileSignature.PDF);
+
+    /**
+     * 允许上传的课程资料类型（PDF、PPT、Word）
+     */
+    private static final Set<FileSignature> MATERIAL_TYPES = EnumSet.of(
+            FileSignature.PDF,     // .pdf
+            FileSignature.OOXML,   // .pptx, .docx
+            FileSignature.OLE      // .ppt, .doc
+    );
+
+    private static final String IMAGE_TYPE_MESSAGE = "只允许上传图片文件（JPG、PNG、GIF、WebP）";
+
+    private static final String PDF_TYPE_MESSAGE = "只允许上传PDF格式的文件";
+
+    private static final String MATERIAL_TYPE_MESSAGE = "只允许上传PDF、PPT、Word格式的文件";
 
     /**
      * 最大文件大小（5MB = 5 * 1024 * 1024 字节）- 用于图片
@@ -57,17 +67,16 @@ public class FileUploadUtil {
      *
      * @param file 上传的文件
      * @param uploadDir 上传目录（如：uploads/avatars）
-     * @param prefix 文件名前缀（如：教授ID）
-     * @return 保存后的文件相对路径（如：/uploads/avatars/1_uuid.jpg）
+     * @return 保存后的文件相对路径（如：/uploads/avatars/9f86d0...15b0.jpg）
      * @throws IOException 文件操作异常
      * @throws IllegalArgumentException 文件验证失败
      */
-    public static String saveFile(MultipartFile file, String uploadDir, String prefix) throws IOException {
+    public static String saveFile(MultipartFile file, String uploadDir) throws IOException {
         // 1. 验证文件（图片）
-        validateFile(file);
+        FileSignature signature = validateFile(file);
 
-        // 2. 保存文件
-        return saveFileInternal(file, uploadDir, prefix);
+        // 2. 保存文件（写入时校验文件内容）
+        return saveFileInternal(file, uploadDir, signature, MAX_FILE_SIZE, "文件大小不能超过5MB");
     }
 
     /**
@@ -75,17 +84,16 @@ public class FileUploadUtil {
      *
      * @param file 上传的文件
      * @param uploadDir 上传目录（如：uploads/pdfs）
-     * @param prefix 文件名前缀（如：publication_1）
      * @return 保存后的文件相对路径
      * @throws IOException 文件操作异常
      * @throws IllegalArgumentException 文件验证失败
      */
-    public static String savePdfFile(MultipartFile file, String uploadDir, String prefix) throws IOException {
+    public static String savePdfFile(MultipartFile file, String uploadDir) throws IOException {
         // 1. 验证PDF文件
-        validatePdfFile(file);
+        FileSignature signature = validatePdfFile(file);
 
-        // 2. 保存文件
-        return saveFileInternal(file, uploadDir, prefix);
+        // 2. 保存文件（写入时校验文件内容）
+        return saveFileInternal(file, uploadDir, signature, MAX_PDF_SIZE, "PDF文件大小不能超过20MB");
     }
 
     /**
@@ -93,144 +101,158 @@ public class FileUploadUtil {
      *
      * @param file 上传的文件
      * @param uploadDir 上传目录（如：uploads/materials）
-     * @param prefix 文件名前缀（如：course_1）
      * @return 保存后的文件相对路径
      * @throws IOException 文件操作异常
      * @throws IllegalArgumentException 文件验证失败
      */
-    public static String saveMaterialFile(MultipartFile file, String uploadDir, String prefix) throws IOException {
+    public static String saveMaterialFile(MultipartFile file, String uploadDir) throws IOException {
         // 1. 验证文件（资料文件大小限制20MB）
-        validateMaterialFile(file);
+        FileSignature signature = validateMaterialFile(file);
 
-        // 2. 保存文件
-        return saveFileInternal(file, uploadDir, prefix);
+        // 2. 保存文件（写入时校验文件内容）
+        return saveFileInternal(file, uploadDir, signature, MAX_PDF_SIZE, "文件大小不能超过20MB");
     }
 
     /**
-     * 内部方法：保存文件的通用逻辑
+     * 以流的方式保存PDF文件（请求体直接写入上传目录，不经过 multipart 临时文件）
+     *
+     * @param input 请求体输入流
+     * @param contentLength 请求头中的文件大小（未知时为 -1）
+     * @param filename 原始文件名（用于确定扩展名）
+     * @param uploadDir 上传目录（如：uploads/pdfs）
+     * @return 保存后的文件相对路径
+     * @throws IOException 文件操作异常
+     * @throws IllegalArgumentException 文件验证失败
      */
-    private static String saveFileInternal(MultipartFile file, String uploadDir, String prefix) throws IOException {
-        // 1. 创建上传目录（如果不存在）
-        File directory = new File(uploadDir);
-        if (!directory.exists()) {
-            directory.mkdirs();  // 创建多级目录
+    public static String savePdfStream(InputStream input, long contentLength, String filename, String uploadDir)
+            throws IOException {
+        return saveStreamInternal(input, contentLength, filename, uploadDir,
+                PDF_TYPES, PDF_TYPE_MESSAGE, MAX_PDF_SIZE, "PDF文件大小不能超过20MB");
+    }
+
+    /**
+     * 以流的方式保存课程资料文件（PDF、PPT、Word）
+     *
+     * @param input 请求体输入流
+     * @param contentLength 请求头中的文件大小（未知时为 -1）
+     * @param filename 原始文件名（用于确定扩展名）
+     * @param uploadDir 上传目录（如：uploads/materials）
+     * @return 保存后的文件相对路径
+     * @throws IOException 文件操作异常
+     * @throws IllegalArgumentException 文件验证失败
+     */
+    public static String saveMaterialStream(InputStream input, long contentLength, String filename, String uploadDir)
+            throws IOException {
+        return saveStreamInternal(input, contentLength, filename, uploadDir,
+                MATERIAL_TYPES, MATERIAL_TYPE_MESSAGE, MAX_PDF_SIZE, "文件大小不能超过20MB");
+    }
+
+    /**
+     * 文件名是否为允许上传的课程资料类型（PDF、PPT、Word）
+     *
+     * @param filename 原始文件名
+     */
+    public static boolean isMaterialFilename(String filename) {
+        return MATERIAL_TYPES.contains(FileSignature.forExtension(getFileExtension(filename)));
+    }
+
+    /**
+     * 内部方法：流式保存的通用逻辑
+     * 扩展名决定文件应有的签名；写入过程中校验签名和大小，校验失败时临时文件被删除
+     */
+    private static String saveStreamInternal(InputStream input, long contentLength, String filename,
+                                             String uploadDir, Set<FileSignature> allowedTypes, String typeMessage,
+                                             long maxSize, String sizeMessage) throws IOException {
+        String extension = getFileExtension(filename);
+        FileSignature signature = FileSignature.forExtension(extension);
+        if (!allowedTypes.contains(signature)) {
+            throw new IllegalArgumentException(typeMessage);
         }
 
-        // 2. 生成唯一文件名
-        String originalFilename = file.getOriginalFilename();
-        String extension = getFileExtension(originalFilename);
-        String newFilename = generateUniqueFilename(prefix, extension);
+        // 请求头已声明大小时提前拒绝，不必读取请求体
+        if (contentLength > maxSize) {
+            throw new IllegalArgumentException(sizeMessage);
+        }
 
-        // 3. 保存文件
-        Path filePath = Paths.get(uploadDir, newFilename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        return ContentAddressedStore.store(
+                new ValidatingInputStream(input, signature, maxSize, sizeMessage), uploadDir, extension);
+    }
+
+    /**
+     * 内部方法：保存文件的通用逻辑
+     * 文件以内容摘要命名，已存在相同内容的文件时只增加引用计数；
+     * 文件内容在写入的同时校验，上传的文件只读取一遍，校验失败时临时文件被删除
+     */
+    private static String saveFileInternal(MultipartFile file, String uploadDir, FileSignature signature,
+                                           long maxSize, String sizeMessage) throws IOException {
+        String extension = getFileExtension(file.getOriginalFilename());
 
-        // 4. 返回相对路径（用于存储到数据库和前台访问）
-        return "/" + uploadDir + "/" + newFilename;
+        // 返回相对路径（用于存储到数据库和前台访问）
+        try (InputStream input = new ValidatingInputStream(file.getInputStream(), signature, maxSize, sizeMessage)) {
+            return ContentAddressedStore.store(input, uploadDir, extension);
+        }
     }
 
     /**
      * 验证上传的文件（图片）
      *
      * @param file 上传的文件
+     * @return 文件应有的签名
      * @throws IllegalArgumentException 验证失败时抛出异常
      */
-    private static void validateFile(MultipartFile file) {
-        // 检查文件是否为空
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("文件不能为空");
-        }
-
-        // 检查文件大小
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("文件大小不能超过5MB");
-        }
-
-        // 检查文件类型（MIME类型）
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType)) {
-            throw new IllegalArgumentException("只允许上传图片文件（JPG、PNG、GIF、WebP）");
-        }
+    private static FileSignature validateFile(MultipartFile file) {
+        return validate(file, IMAGE_TYPES, IMAGE_TYPE_MESSAGE, MAX_FILE_SIZE, "文件大小不能超过5MB");
     }
 
     /**
      * 验证上传的PDF文件
      *
      * @param file 上传的文件
+     * @return 文件应有的签名
      * @throws IllegalArgumentException 验证失败时抛出异常
      */
-    private static void validatePdfFile(MultipartFile file) {
-        // 检查文件是否为空
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("文件不能为空");
-        }
-
-        // 检查文件大小
-        if (file.getSize() > MAX_PDF_SIZE) {
-            throw new IllegalArgumentException("PDF文件大小不能超过20MB");
-        }
-
-        // 检查文件类型
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.equals(ALLOWED_PDF_TYPE)) {
-            throw new IllegalArgumentException("只允许上传PDF格式的文件");
-        }
+    private static FileSignature validatePdfFile(MultipartFile file) {
+        return validate(file, PDF_TYPES, PDF_TYPE_MESSAGE, MAX_PDF_SIZE, "PDF文件大小不能超过20MB");
     }
 
     /**
      * 验证课程资料文件（PDF、PPT、Word）
      *
      * @param file 上传的文件
+     * @return 文件应有的签名
      * @throws IllegalArgumentException 验证失败时抛出异常
      */
-    private static void validateMaterialFile(MultipartFile file) {
+    private static FileSignature validateMaterialFile(MultipartFile file) {
+        return validate(file, MATERIAL_TYPES, MATERIAL_TYPE_MESSAGE, MAX_PDF_SIZE, "文件大小不能超过20MB");
+    }
+
+    /**
+     * 验证的通用逻辑
+     * 1. 文件不能为空，不能超过大小限制
+     * 2. 扩展名必须是允许的类型（扩展名决定文件保存后的 Content-Type）
+     *
+     * 文件内容（开头的字节）是否与扩展名一致在保存时校验（见 ValidatingInputStream），不单独读取一遍文件
+     *
+     * @return 扩展名对应的文件签名
+     */
+    private static FileSignature validate(MultipartFile file, Set<FileSignature> allowedTypes, String typeMessage,
+                                          long maxSize, String sizeMessage) {
         // 检查文件是否为空
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("文件不能为空");
         }
 
-        // 检查文件大小（20MB）
-        if (file.getSize() > MAX_PDF_SIZE) {
-            throw new IllegalArgumentException("文件大小不能超过20MB");
-        }
-
-        // 检查文件类型
-        String contentType = file.getContentType();
-        if (contentType == null) {
-            throw new IllegalArgumentException("无法识别文件类型");
+        // 检查文件大小
+        if (file.getSize() > maxSize) {
+            throw new IllegalArgumentException(sizeMessage);
         }
 
-        // 允许的MIME类型
-        boolean isAllowed = contentType.equals("application/pdf")
-                || contentType.equals("application/vnd.ms-powerpoint")  // .ppt
-                || contentType.equals("application/vnd.openxmlformats-officedocument.presentationml.presentation")  // .pptx
-                || contentType.equals("application/msword")  // .doc
-                || contentType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document");  // .docx
-
-        if (!isAllowed) {
-            throw new IllegalArgumentException("只允许上传PDF、PPT、Word格式的文件");
+        // 检查扩展名
+        FileSignature expected = FileSignature.forExtension(getFileExtension(file.getOriginalFilename()));
+        if (!allowedTypes.contains(expected)) {
+            throw new IllegalArgumentException(typeMessage);
         }
-    }
-
-    /**
-     * 生成唯一的文件名
-     * 格式：prefix_uuid.extension
-     * 示例：1_a1b2c3d4.jpg
-     *
-     * @param prefix 前缀（如：教授ID）
-     * @param extension 文件扩展名（如：.jpg）
-     * @return 唯一文件名
-     */
-    private static String generateUniqueFilename(String prefix, String extension) {
-        // UUID：通用唯一识别码（Universally Unique Identifier）
-        // 生成一个几乎不可能重复的随机字符串
-        String uuid = UUID.randomUUID().toString().replace("-", "");
-
-        // 也可以使用时间戳
-        // long timestamp = System.currentTimeMillis();
-        // return prefix + "_" + timestamp + extension;
-
-        return prefix + "_" + uuid + extension;
+        return expected;
     }
 
     /**
@@ -253,10 +275,11 @@ public class FileUploadUtil {
     }
 
     /**
-     * 删除文件
+     * 删除文件（释放一个引用）
+     * 同一文件被多处引用时，只有最后一个引用被删除时才真正删除文件
      *
-     * @param filePath 文件路径（如：/uploads/avatars/1_uuid.jpg）
-     * @return 是否删除成功
+     * @param filePath 文件路径（如：/uploads/avatars/9f86d0...15b0.jpg）
+     * @return 文件是否被删除（仍有其它引用时返回 false）
      */
     public static boolean deleteFile(String filePath) {
         if (filePath == null || filePath.isEmpty()) {
@@ -264,16 +287,7 @@ public class FileUploadUtil {
         }
 
         try {
-            // 移除开头的斜杠
-            if (filePath.startsWith("/")) {
-                filePath = filePath.substring(1);
-            }
-
-            File file = new File(filePath);
-            if (file.exists()) {
-                return file.delete();
-            }
-            return false;
+            return ContentAddressedStore.release(filePath);
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -2,18 +2,33 @@ package com.audrey.homepage.util;
 
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 /**
  * HTML内容处理工具类
  * 用于在后台管理列表页面友好地显示富文本内容
  *
+ * 说明：
+ * - 去标签、解码HTML实体、合并空白在扫描一遍HTML的过程中同时完成，不使用正则
+ * - 生成摘要时收集够 maxLength 个字符（按码点计算，不会拆开代理对）就停止扫描，
+ *   长篇简介/描述不必整段处理
+ *
  * @author Claude
  * @date 2026-02-09
  */
 @Component("htmlUtil")
 public class HtmlUtil {
 
+    /**
+     * 实体中保存的纯文本摘要长度（后台列表页面显示）
+     */
+    public static final int SUMMARY_LENGTH = 150;
+
+    private static final String ELLIPSIS = "...";
+
+    /**
+     * 实体名称（& 和 ; 之间）的最大长度，超过时按普通文本处理
+     */
+    private static final int MAX_ENTITY_LENGTH = 10;
+
     /**
      * 移除HTML标签，只保留纯文本
      *
@@ -25,28 +40,16 @@ public class HtmlUtil {
             return "";
         }
 
-        // 移除所有HTML标签
-        String text = html.replaceAll("<[^>]*>", "");
-
-        // 替换HTML实体
-        text = text.replace("&nbsp;", " ");
-        text = text.replace("&lt;", "<");
-        text = text.replace("&gt;", ">");
-        text = text.replace("&amp;", "&");
-        text = text.replace("&quot;", "\"");
-        text = text.replace("&#39;", "'");
-
-        // 移除多余的空格和换行
-        text = text.replaceAll("\\s+", " ").trim();
-
-        return text;
+        StringBuilder text = new StringBuilder(html.length());
+        appendText(html, Integer.MAX_VALUE, text);
+        return text.toString();
     }
 
     /**
      * 截断文本到指定长度，并添加省略号
      *
      * @param text 原始文本
-     * @param maxLength 最大长度
+     * @param maxLength 最大长度（字符数，按码点计算）
      * @return 截断后的文本
      */
     public static String truncate(String text, int maxLength) {
@@ -54,23 +57,55 @@ public class HtmlUtil {
             return "";
         }
 
-        if (text.length() <= maxLength) {
+        if (text.length() <= maxLength || text.codePointCount(0, text.length()) <= maxLength) {
             return text;
         }
 
-        return text.substring(0, maxLength) + "...";
+        return text.substring(0, text.offsetByCodePoints(0, Math.max(maxLength, 0))) + ELLIPSIS;
     }
 
     /**
      * 获取HTML内容的纯文本摘要（移除标签并截断）
      *
      * @param html HTML内容
-     * @param maxLength 最大长度
+     * @param maxLength 最大长度（字符数，按码点计算）
      * @return 纯文本摘要
      */
     public static String getTextSummary(String html, int maxLength) {
-        String text = stripHtmlTags(html);
-        return truncate(text, maxLength);
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder summary = new StringBuilder(
+                Math.min(html.length(), Math.max(maxLength, 0) + ELLIPSIS.length()));
+        if (appendText(html, maxLength, summary)) {
+            summary.append(ELLIPSIS);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * 生成实体中保存的纯文本摘要
+     *
+     * @param html HTML内容
+     * @return 摘要（SUMMARY_LENGTH 个字符以内）；html 为 null 时返回 null
+     */
+    public static String summarize(String html) {
+        return html == null ? null : getTextSummary(html, SUMMARY_LENGTH);
+    }
+
+    /**
+     * HTML内容中是否有可见文字（找到第一个可见字符即返回）
+     *
+     * @param html HTML内容
+     * @return 去掉标签和空白后是否还有文字
+     */
+    public static boolean hasText(String html) {
+        if (html == null || html.isEmpty()) {
+            return false;
+        }
+        // maxLength 为 0 时不输出任何字符，遇到可见字符即返回 true
+        return appendText(html, 0, null);
     }
 
     /**
@@ -91,10 +126,156 @@ public class HtmlUtil {
      * 检查HTML内容是否为空
      */
     public boolean isEmpty(String html) {
-        if (html == null || html.trim().isEmpty()) {
-            return true;
+        return !hasText(html);
+    }
+
+    /**
+     * 扫描一遍HTML，把纯文本追加到 out：
+     * 跳过标签，解码实体，连续空白合并为一个空格，去掉首尾空白
+     *
+     * @param html HTML内容
+     * @param maxLength 最多输出的字符数（码点，含合并后的空格）
+     * @param out 输出（maxLength 为 0 时可以为 null）
+     * @return 超过 maxLength 后是否还有可见字符（即文本被截断）
+     */
+    private static boolean appendText(String html, int maxLength, StringBuilder out) {
+        int length = html.length();
+        int count = 0;
+        boolean pendingSpace = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            int codePoint;
+            if (c == '<') {
+                // 标签：跳到 '>'；没有闭合的 '<' 按普通字符处理
+                int end = html.indexOf('>', i + 1);
+                if (end >= 0) {
+                    i = end + 1;
+                    continue;
+                }
+                codePoint = c;
+                i++;
+            } else if (c == '&') {
+                int end = entityEnd(html, i);
+                codePoint = end < 0 ? -1 : decodeEntity(html, i + 1, end);
+                if (codePoint < 0) {
+                    codePoint = c;
+                    i++;
+                } else {
+                    i = end + 1;
+                }
+            } else {
+                codePoint = html.codePointAt(i);
+                i += Character.charCount(codePoint);
+            }
+
+            if (isWhitespace(codePoint)) {
+                pendingSpace = count > 0;
+                continue;
+            }
+            // 合并后的空格也计入长度；放不下空格加这个字符时截断（不以空格结尾）
+            int needed = pendingSpace ? 2 : 1;
+            if (count > maxLength - needed) {
+                return true;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.appendCodePoint(codePoint);
+            count += needed;
+        }
+        return false;
+    }
+
+    /**
+     * 查找从 start（'&'）开始的实体的结束位置（';'）
+     *
+     * @return ';' 的位置，不是实体时返回 -1
+     */
+    private static int entityEnd(String html, int start) {
+        int limit = Math.min(html.length(), start + MAX_ENTITY_LENGTH + 2);
+        for (int i = start + 1; i < limit; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                return i > start + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 解码 html[start, end) 中的实体名称（不含 & 和 ;）
+     *
+     * @return 对应的字符（码点），不支持的实体返回 -1
+     */
+    private static int decodeEntity(String html, int start, int end) {
+        if (html.charAt(start) == '#') {
+            return decodeNumericEntity(html, start + 1, end);
+        }
+        switch (end - start) {
+            case 2:
+                if (html.startsWith("lt", start)) {
+                    return '<';
+                }
+                if (html.startsWith("gt", start)) {
+                    return '>';
+                }
+                return -1;
+            case 3:
+                return html.startsWith("amp", start) ? '&' : -1;
+            case 4:
+                if (html.startsWith("nbsp", start)) {
+                    return ' ';
+                }
+                if (html.startsWith("quot", start)) {
+                    return '"';
+                }
+                if (html.startsWith("apos", start)) {
+                    return '\'';
+                }
+                return -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * 解码数字实体（&#39; / &#x27;）
+     */
+    private static int decodeNumericEntity(String html, int start, int end) {
+        int radix = 10;
+        if (start < end && (html.charAt(start) == 'x' || html.charAt(start) == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start >= end) {
+            return -1;
+        }
+
+        int codePoint = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(html.charAt(i), radix);
+            if (digit < 0) {
+                return -1;
+            }
+            codePoint = codePoint * radix + digit;
+            if (codePoint > Character.MAX_CODE_POINT) {
+                return -1;
+            }
         }
-        String text = stripHtmlTags(html);
-        return text.trim().isEmpty();
+        boolean surrogate = codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE;
+        return codePoint == 0 || surrogate ? -1 : codePoint;
+    }
+
+    /**
+     * 与正则 \s 一致的空白字符
+     */
+    private static boolean isWhitespace(int codePoint) {
+        return codePoint == ' ' || (codePoint >= '\t' && codePoint <= '\r');
     }
 }
@@ -1,57 +1,75 @@
 package com.audrey.homepage.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
 import java.util.regex.Pattern;
 
 /**
  * 搜索高亮工具类
  * 用于在搜索结果中高亮显示关键词
  *
+ * 说明：
+ * - 关键词按空白拆分为多个词，任意一个词出现的位置都会高亮（不区分大小写）
+ * - 所有词构建一个 Aho-Corasick 自动机，扫描一遍文本即可找出全部匹配；
+ *   同一关键词的自动机缓存起来，结果页每一行、每个字段都复用同一个自动机
+ * - 转义HTML和插入高亮标签在同一遍中完成
+ * - 按字符匹配，中文等没有空格分隔的文字同样适用
+ *
  * @author Claude
  * @date 2026-02-09
  */
 @Component("searchHighlight")
 public class SearchHighlightUtil {
 
+    private static final String OPEN_TAG = "<span class=\"highlight\">";
+
+    private static final String CLOSE_TAG = "</span>";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 规范化的关键词 → 自动机（热门关键词常驻，容量满时淘汰不常用的）
+     */
+    private final Cache<String, KeywordAutomaton> automata = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
     /**
      * 高亮显示文本中的关键词
      *
      * @param text 原始文本
-     * @param keyword 关键词
-     * @return 高亮后的HTML文本
+     * @param keyword 关键词（多个词用空格分隔）
+     * @return 高亮后的HTML文本（已转义HTML特殊字符）
      */
     public String highlight(String text, String keyword) {
-        // 如果文本或关键词为空，直接返回原文本
-        if (text == null || text.isEmpty() || keyword == null || keyword.trim().isEmpty()) {
-            return text != null ? text : "";
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        if (keyword == null || keyword.isBlank()) {
+            return escapeHtml(text);
         }
 
-        // 转义HTML特殊字符
-        text = escapeHtml(text);
-
-        try {
-            // 使用正则表达式进行不区分大小写的匹配和替换
-            // Pattern.CASE_INSENSITIVE 表示不区分大小写
-            // Pattern.LITERAL 表示将关键词作为字面量，不解析正则表达式特殊字符
-            String escapedKeyword = Pattern.quote(keyword.trim());
-            Pattern pattern = Pattern.compile(escapedKeyword, Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(text);
-
-            // 替换匹配的关键词为高亮HTML
-            StringBuffer result = new StringBuffer();
-            while (matcher.find()) {
-                matcher.appendReplacement(result,
-                        "<span class=\"highlight\">" + matcher.group() + "</span>");
-            }
-            matcher.appendTail(result);
+        KeywordAutomaton automaton = automata.get(normalizeKeyword(keyword), KeywordAutomaton::new);
+        return automaton.highlight(text);
+    }
 
-            return result.toString();
-        } catch (Exception e) {
-            // 如果出现异常，返回原文本
-            return text;
+    /**
+     * 规范化关键词（去掉首尾空白、连续空白合并为一个空格、转小写），作为自动机缓存的键
+     * 与 PublicationService 的搜索缓存键一致，大小写或空格不同的同一关键词共用一个自动机；
+     * 逐个字符转小写，与自动机匹配时的转换方式相同
+     */
+    static String normalizeKeyword(String keyword) {
+        String collapsed = WHITESPACE.matcher(keyword.trim()).replaceAll(" ");
+        StringBuilder result = new StringBuilder(collapsed.length());
+        for (int i = 0; i < collapsed.length(); i++) {
+            result.append(Character.toLowerCase(collapsed.charAt(i)));
         }
+        return result.toString();
     }
 
     /**
@@ -60,14 +78,164 @@ public class SearchHighlightUtil {
      * @param text 原始文本
      * @return 转义后的文本
      */
-    private String escapeHtml(String text) {
-        if (text == null) {
-            return "";
+    private static String escapeHtml(String text) {
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        appendEscaped(result, text, 0, text.length());
+        return result.toString();
+    }
+
+    /**
+     * 把 text[from, to) 转义后追加到 result
+     */
+    private static void appendEscaped(StringBuilder result, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> result.append("&amp;");
+                case '<' -> result.append("&lt;");
+                case '>' -> result.append("&gt;");
+                case '"' -> result.append("&quot;");
+                case '\'' -> result.append("&#39;");
+                default -> result.append(c);
+            }
+        }
+    }
+
+    /**
+     * 多关键词 Aho-Corasick 自动机（构建后只读，可以被多个线程共用）
+     */
+    private static final class KeywordAutomaton {
+
+        private final Node root = new Node();
+
+        KeywordAutomaton(String keyword) {
+            // 1. 所有词插入字典树（关键词已规范化，见 normalizeKeyword）
+            for (String word : keyword.split(" ")) {
+                Node node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.childOrCreate(word.charAt(i));
+                }
+                node.match = word.length();
+            }
+
+            // 2. 广度优先计算失配指针；match 取本节点和失配链上最长的词
+            Queue<Node> queue = new ArrayDeque<>();
+            root.fail = root;
+            for (Node child : root.next) {
+                child.fail = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.remove();
+                for (int k = 0; k < node.keys.length; k++) {
+                    Node child = node.next[k];
+                    child.fail = root.step(node.fail, node.keys[k]);
+                    child.match = Math.max(child.match, child.fail.match);
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * 找出所有匹配区间（重叠或相邻的区间合并），再一遍完成转义和插入标签
+         */
+        String highlight(String text) {
+            int[] starts = null;
+            int[] ends = null;
+            int count = 0;
+
+            Node state = root;
+            for (int i = 0; i < text.length(); i++) {
+                state = root.step(state, Character.toLowerCase(text.charAt(i)));
+                if (state.match == 0) {
+                    continue;
+                }
+
+                int start = i - state.match + 1;
+                if (starts == null) {
+                    starts = new int[8];
+                    ends = new int[8];
+                }
+                while (count > 0 && start <= ends[count - 1] + 1) {
+                    start = Math.min(start, starts[count - 1]);
+                    count--;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = i;
+                count++;
+            }
+
+            StringBuilder result = new StringBuilder(
+                    text.length() + 16 + count * (OPEN_TAG.length() + CLOSE_TAG.length()));
+            int position = 0;
+            for (int k = 0; k < count; k++) {
+                appendEscaped(result, text, position, starts[k]);
+                result.append(OPEN_TAG);
+                appendEscaped(result, text, starts[k], ends[k] + 1);
+                result.append(CLOSE_TAG);
+                position = ends[k] + 1;
+            }
+            appendEscaped(result, text, position, text.length());
+            return result.toString();
+        }
+
+        /**
+         * 自动机节点：子节点按字符排序存放在数组中
+         */
+        private static final class Node {
+            private char[] keys = new char[0];
+            private Node[] next = new Node[0];
+            private Node fail;
+
+            /**
+             * 在此处结束的最长关键词的长度（0 表示没有关键词在此结束）
+             */
+            private int match;
+
+            Node child(char c) {
+                int k = Arrays.binarySearch(keys, c);
+                return k >= 0 ? next[k] : null;
+            }
+
+            Node childOrCreate(char c) {
+                int k = Arrays.binarySearch(keys, c);
+                if (k >= 0) {
+                    return next[k];
+                }
+                int position = -k - 1;
+                Node node = new Node();
+                char[] newKeys = new char[keys.length + 1];
+                Node[] newNext = new Node[next.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, position);
+                System.arraycopy(next, 0, newNext, 0, position);
+                newKeys[position] = c;
+                newNext[position] = node;
+                System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+                System.arraycopy(next, position, newNext, position + 1, next.length - position);
+                keys = newKeys;
+                next = newNext;
+                return node;
+            }
+
+            /**
+             * 从 state 读入字符 c 后的状态（沿失配指针回退，在根节点上调用）
+             */
+            Node step(Node state, char c) {
+                while (true) {
+                    Node child = state.child(c);
+                    if (child != null) {
+                        return child;
+                    }
+                    if (state == this) {
+                        return this;
+                    }
+                    state = state.fail;
+                }
+            }
         }
-        return text.replace("&", "&amp;")
-                   .replace("<", "&lt;")
-                   .replace(">", "&gt;")
-                   .replace("\"", "&quot;")
-                   .replace("'", "&#39;");
     }
 }
@@ -0,0 +1,73 @@
+package com.audrey.homepage.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 上传文件路径规则
+ *
+ * 分目录存放：每个上传目录下再按文件名分两级子目录，避免单个目录文件过多
+ * 例如：/uploads/pdfs/9f86d0...15b0.pdf → /uploads/pdfs/9f/86/9f86d0...15b0.pdf
+ *
+ * 以内容摘要命名的文件直接取文件名前4个字符；
+ * 其它文件（旧的 prefix_uuid.ext 文件）取文件名 MD5 的前4个字符。
+ */
+public final class UploadPaths {
+
+    /**
+     * 文本（URL 或 JSON）中的上传文件URL
+     */
+    public static final Pattern UPLOAD_URL = Pattern.compile("/uploads/[^\"'\\s,\\]\\)\\\\]+");
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    private static final Pattern DIGEST_FILENAME = Pattern.compile("[0-9a-f]{64}(\\..*)?");
+
+    private UploadPaths() {
+    }
+
+    /**
+     * 平铺目录中的文件URL对应的分目录URL
+     *
+     * @param url 文件URL（如：/uploads/pdfs/xxx.pdf）
+     * @return 分目录URL（如：/uploads/pdfs/ab/cd/xxx.pdf）；已经分目录或不是上传文件时返回 null
+     */
+    public static String shardedUrl(String url) {
+        if (!isFlat(url)) {
+            return null;
+        }
+
+        int slash = url.lastIndexOf('/');
+        String filename = url.substring(slash + 1);
+        String key = shardKey(filename);
+        return url.substring(0, slash + 1) + key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + filename;
+    }
+
+    /**
+     * 是否为平铺目录中的文件（/uploads/目录/文件名）
+     */
+    public static boolean isFlat(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return false;
+        }
+        String rest = url.substring(URL_PREFIX.length());
+        int slash = rest.indexOf('/');
+        return slash > 0 && slash == rest.lastIndexOf('/') && slash < rest.length() - 1;
+    }
+
+    private static String shardKey(String filename) {
+        if (DIGEST_FILENAME.matcher(filename).matches()) {
+            return filename;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("MD5").digest(filename.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // 所有JDK都必须支持MD5
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.audrey.homepage.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 边读边校验的输入流
+ *
+ * 1. 第一次读取时先读入文件开头几个字节，校验文件签名
+ * 2. 累计读取的字节数，超过上限立即失败，不必等整个文件读完
+ *
+ * 校验失败时抛出 IllegalArgumentException，与 FileUploadUtil 的其它校验保持一致；
+ * 签名不符时提示文件的实际类型（能识别时），方便用户发现扩展名被改错的文件
+ */
+class ValidatingInputStream extends FilterInputStream {
+
+    private final FileSignature signature;
+
+    private final long maxSize;
+
+    private final String sizeMessage;
+
+    /**
+     * 开头的字节（校验签名后再交给调用方）
+     */
+    private final byte[] header = new byte[FileSignature.MAX_LENGTH];
+
+    /**
+     * read() 逐字节读取时复用的缓冲区
+     */
+    private final byte[] single = new byte[1];
+
+    private boolean headerRead;
+
+    private int headerLength;
+
+    private int headerPosition;
+
+    private long count;
+
+    /**
+     * @param in 原始输入流
+     * @param signature 文件应有的签名
+     * @param maxSize 最大字节数
+     * @param sizeMessage 超过大小时的提示信息
+     */
+    ValidatingInputStream(InputStream in, FileSignature signature, long maxSize, String sizeMessage) {
+        super(in);
+        this.signature = signature;
+        this.maxSize = maxSize;
+        this.sizeMessage = sizeMessage;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(single, 0, 1);
+        return n == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+
+        // 先返回已读入的开头字节
+        if (headerPosition < headerLength) {
+            int n = Math.min(len, headerLength - headerPosition);
+            System.arraycopy(header, headerPosition, b, off, n);
+            headerPosition += n;
+            return n;
+        }
+
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            count += n;
+            if (count > maxSize) {
+                throw new IllegalArgumentException(sizeMessage);
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        throw new IOException("不支持 skip");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        headerLength = in.readNBytes(header, 0, header.length);
+        count = headerLength;
+
+        if (headerLength == 0) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+        if (!signature.matches(header, headerLength)) {
+            FileSignature actual = FileSignature.detect(header, headerLength);
+            throw new IllegalArgumentException(actual == null
+                    ? "文件内容与文件类型不符"
+                    : "文件内容与文件类型不符（实际为" + actual.getLabel() + "）");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.audrey.homepage.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PageCacheFilterTest {
+
+    private final ContentRevision contentRevision = new ContentRevision();
+
+    private final PageCacheFilter filter = new PageCacheFilter();
+
+    /**
+     * 页面被实际渲染的次数
+     */
+    private int renders;
+
+    private final FilterChain chain = (request, response) -> {
+        renders++;
+        response.setContentType("text/html;charset=UTF-8");
+        response.getWriter().write("<p>render " + renders + "</p>");
+    };
+
+    PageCacheFilterTest() {
+        ReflectionTestUtils.setField(filter, "contentRevision", contentRevision);
+    }
+
+    @Test
+    void secondRequestIsServedFromCache() throws Exception {
+        MockHttpServletResponse first = get("/professor/1");
+        MockHttpServletResponse second = get("/professor/1");
+
+        assertEquals(1, renders);
+        assertEquals("<p>render 1</p>", second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", second.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void matchingEtagGetsNotModified() throws Exception {
+        String etag = get("/").getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        MockHttpServletRequest request = request("/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentLength());
+        assertEquals(1, renders);
+    }
+
+    @Test
+    void staleEtagGetsFullPage() throws Exception {
+        get("/");
+
+        MockHttpServletRequest request = request("/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"r0-stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("<p>render 1</p>", response.getContentAsString());
+    }
+
+    @Test
+    void revisionBumpInvalidatesCachedPage() throws Exception {
+        String before = get("/course/3").getHeader(HttpHeaders.ETAG);
+
+        contentRevision.bump();
+        MockHttpServletResponse after = get("/course/3");
+
+        assertEquals(2, renders);
+        assertEquals("<p>render 2</p>", after.getContentAsString());
+        assertNotEquals(before, after.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void requestWithQueryParameterIsNotCached() throws Exception {
+        MockHttpServletRequest request = request("/professor/1");
+        request.setQueryString("x=1");
+        request.addParameter("x", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        get("/professor/1");
+
+        assertEquals(2, renders);
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void uncachedRoutesAndMethodsPassThrough() throws Exception {
+        get("/search");
+        get("/search");
+
+        MockHttpServletRequest post = request("/");
+        post.setMethod("POST");
+        filter.doFilter(post, new MockHttpServletResponse(), chain);
+
+        assertEquals(3, renders);
+    }
+
+    @Test
+    void errorResponsesAreNotCached() throws Exception {
+        FilterChain notFound = (request, response) -> {
+            renders++;
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentType("text/html");
+        };
+        filter.doFilter(request("/award/9"), new MockHttpServletResponse(), notFound);
+        filter.doFilter(request("/award/9"), new MockHttpServletResponse(), notFound);
+
+        assertEquals(2, renders);
+    }
+
+    private MockHttpServletResponse get(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
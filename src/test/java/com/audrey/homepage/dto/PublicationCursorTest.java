@@ -0,0 +1,64 @@
+package com.audrey.homepage.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PublicationCursorTest {
+
+    @Test
+    void encodesAsUrlSafeBase64() {
+        assertEquals("MjAyNDoxMjM", new PublicationCursor(2024, 123L).encode());
+    }
+
+    @Test
+    void roundTripsCursorWithYear() {
+        PublicationCursor cursor = new PublicationCursor(2024, 123L);
+        assertEquals(cursor, PublicationCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsCursorWithoutYear() {
+        PublicationCursor cursor = new PublicationCursor(null, 7L);
+        assertEquals(cursor, PublicationCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void nullOrEmptyCursorMeansFirstPage() {
+        assertNull(PublicationCursor.decode(null));
+        assertNull(PublicationCursor.decode(""));
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertThrows(IllegalArgumentException.class, () -> PublicationCursor.decode("not base64!"));
+    }
+
+    @Test
+    void rejectsMissingSeparator() {
+        assertThrows(IllegalArgumentException.class, () -> PublicationCursor.decode(encode("2024")));
+    }
+
+    @Test
+    void rejectsNonNumericParts() {
+        assertThrows(IllegalArgumentException.class, () -> PublicationCursor.decode(encode("abc:1")));
+        assertThrows(IllegalArgumentException.class, () -> PublicationCursor.decode(encode("2024:x")));
+        assertThrows(IllegalArgumentException.class, () -> PublicationCursor.decode(encode("2024:")));
+    }
+
+    @Test
+    void errorMessageContainsCursor() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> PublicationCursor.decode("@@"));
+        assertEquals("无效的分页游标：@@", e.getMessage());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,139 @@
+package com.audrey.homepage.search;
+
+import com.audrey.homepage.entity.Professor;
+import com.audrey.homepage.entity.Publication;
+import com.audrey.homepage.search.PublicationSuggester.Kind;
+import com.audrey.homepage.search.PublicationSuggester.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicationSuggesterTest {
+
+    private final PublicationSuggester suggester = new PublicationSuggester();
+
+    @Test
+    void completesPrefixOfWholeText() {
+        suggester.index(publication(1L, 1L, "Deep Learning for Graphs", "Zhang Wei", "Nature"));
+
+        assertEquals(List.of(new Suggestion("Deep Learning for Graphs", Kind.TITLE, 1)),
+                suggester.suggest("deep l", 10));
+    }
+
+    @Test
+    void completesWordInTheMiddle() {
+        suggester.index(publication(1L, 1L, "Deep Learning for Graphs", "Zhang Wei", "Nature"));
+
+        assertEquals(List.of("Deep Learning for Graphs"), texts(suggester.suggest("graph", 10)));
+    }
+
+    @Test
+    void prefixIsCaseAndWhitespaceInsensitive() {
+        suggester.index(publication(1L, 1L, "Deep Learning", null, null));
+
+        assertEquals(List.of("Deep Learning"), texts(suggester.suggest("  DEEP   lear", 10)));
+    }
+
+    @Test
+    void sharedEntriesAreMergedAndCounted() {
+        suggester.index(publication(1L, 1L, "Graph Mining", "Zhang Wei, Li Na", "Nature"));
+        suggester.index(publication(2L, 1L, "Graph Theory", "zhang  wei", "Science"));
+
+        assertEquals(List.of(new Suggestion("Zhang Wei", Kind.AUTHOR, 2)), suggester.suggest("zhang", 10));
+    }
+
+    @Test
+    void ranksByCountThenKindThenLength() {
+        suggester.index(publication(1L, 1L, "Nature of Things", null, "Nature Communications"));
+        suggester.index(publication(2L, 1L, "Other", null, "Nature"));
+        suggester.index(publication(3L, 1L, "Another", null, "Nature"));
+
+        assertEquals(List.of("Nature", "Nature of Things", "Nature Communications"),
+                texts(suggester.suggest("nat", 10)));
+    }
+
+    @Test
+    void splittingAnEdgeKeepsBothBranches() {
+        suggester.index(publication(1L, 1L, "Graphene", null, null));
+        suggester.index(publication(2L, 1L, "Graph", null, null));
+
+        assertEquals(List.of("Graph", "Graphene"), texts(suggester.suggest("gra", 10)));
+        assertEquals(List.of("Graphene"), texts(suggester.suggest("graphe", 10)));
+        assertEquals(List.of(), suggester.suggest("grapx", 10));
+    }
+
+    @Test
+    void removalDecrementsSharedEntry() {
+        suggester.index(publication(1L, 1L, "A", null, "Nature"));
+        suggester.index(publication(2L, 1L, "B", null, "Nature"));
+
+        suggester.remove(1L);
+
+        assertEquals(List.of(new Suggestion("Nature", Kind.JOURNAL, 1)), suggester.suggest("nat", 10));
+    }
+
+    @Test
+    void removalPrunesEntryAndMergesPath() {
+        suggester.index(publication(1L, 1L, "Graph", null, null));
+        suggester.index(publication(2L, 1L, "Graphene", null, null));
+
+        suggester.remove(2L);
+
+        assertEquals(List.of("Graph"), texts(suggester.suggest("gra", 10)));
+        assertTrue(suggester.suggest("graphe", 10).isEmpty());
+
+        // 剪枝后的路径可以再次插入
+        suggester.index(publication(3L, 1L, "Graphite", null, null));
+        assertEquals(List.of("Graph", "Graphite"), texts(suggester.suggest("graph", 10)));
+    }
+
+    @Test
+    void reindexReplacesOldEntries() {
+        suggester.index(publication(1L, 1L, "Old Title", null, null));
+        suggester.index(publication(1L, 1L, "New Title", null, null));
+
+        assertTrue(suggester.suggest("old", 10).isEmpty());
+        assertEquals(List.of("New Title"), texts(suggester.suggest("new", 10)));
+    }
+
+    @Test
+    void removeByProfessorOnlyRemovesTheirPublications() {
+        suggester.index(publication(1L, 1L, "Graph Mining", null, null));
+        suggester.index(publication(2L, 2L, "Graph Theory", null, null));
+
+        suggester.removeByProfessorId(1L);
+
+        assertEquals(List.of("Graph Theory"), texts(suggester.suggest("graph", 10)));
+    }
+
+    @Test
+    void limitIsApplied() {
+        for (long id = 1; id <= 15; id++) {
+            suggester.index(publication(id, 1L, "Paper " + id, null, null));
+        }
+
+        assertEquals(3, suggester.suggest("paper", 3).size());
+        assertEquals(PublicationSuggester.MAX_SUGGESTIONS, suggester.suggest("paper", 50).size());
+        assertTrue(suggester.suggest("paper", 0).isEmpty());
+        assertTrue(suggester.suggest(" ", 10).isEmpty());
+    }
+
+    private static Publication publication(Long id, Long professorId, String title, String authors, String journal) {
+        Professor professor = new Professor();
+        professor.setId(professorId);
+        Publication publication = new Publication();
+        publication.setId(id);
+        publication.setProfessor(professor);
+        publication.setTitle(title);
+        publication.setAuthors(authors);
+        publication.setJournal(journal);
+        return publication;
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.audrey.homepage.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTokenizerTest {
+
+    @Test
+    void splitsLatinWordsAndLowercases() {
+        assertEquals(List.of("deep", "learning", "2024"), SearchTokenizer.tokenize("Deep-Learning 2024"));
+    }
+
+    @Test
+    void splitsCjkIntoBigramsPlusLastCharacter() {
+        assertEquals(List.of("数据", "据挖", "挖掘", "掘"), SearchTokenizer.tokenize("数据挖掘"));
+    }
+
+    @Test
+    void singleCjkCharacterIsKeptAsToken() {
+        assertEquals(List.of("图"), SearchTokenizer.tokenize("图"));
+    }
+
+    @Test
+    void mixedTextSwitchesBetweenWordsAndBigrams() {
+        assertEquals(List.of("基于", "于", "cnn", "的图", "图像", "像"), SearchTokenizer.tokenize("基于CNN的图像"));
+    }
+
+    @Test
+    void punctuationSeparatesCjkRuns() {
+        assertEquals(List.of("数据", "据", "挖掘", "掘"), SearchTokenizer.tokenize("数据，挖掘"));
+    }
+
+    @Test
+    void supplementaryCharactersAreNotSplit() {
+        // U+20BB7 是扩展B区汉字，占两个char
+        String text = "𠮷野";
+        assertEquals(List.of(text, "野"), SearchTokenizer.tokenize(text));
+    }
+
+    @Test
+    void nullAndEmptyTextHaveNoTokens() {
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+        assertTrue(SearchTokenizer.tokenize("").isEmpty());
+        assertTrue(SearchTokenizer.tokenize(" ,. ").isEmpty());
+    }
+
+    @Test
+    void detectsCjkScripts() {
+        assertTrue(SearchTokenizer.isCjk('中'));
+        assertTrue(SearchTokenizer.isCjk('か'));
+        assertTrue(SearchTokenizer.isCjk('한'));
+        assertFalse(SearchTokenizer.isCjk('a'));
+        assertFalse(SearchTokenizer.isCjk('1'));
+    }
+}
@@ -0,0 +1,244 @@
+package com.audrey.homepage.service;
+
+import com.audrey.homepage.service.ChunkedUploadService.UploadSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK = ChunkedUploadService.CHUNK_SIZE;
+
+    /**
+     * 3个分片，最后一个分片只有10字节
+     */
+    private static final byte[] FILE = content(2 * CHUNK + 10);
+
+    @TempDir
+    Path temp;
+
+    private Path chunksRoot;
+
+    /**
+     * 拼接后交给 saveFile 的文件内容
+     */
+    private final List<byte[]> saved = new ArrayList<>();
+
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        chunksRoot = temp.resolve(".chunks");
+        service = new ChunkedUploadService(chunksRoot) {
+            @Override
+            String saveFile(InputStream input, UploadSession session) throws IOException {
+                saved.add(input.readAllBytes());
+                return "/uploads/materials/" + saved.size() + ".pdf";
+            }
+        };
+    }
+
+    @Test
+    void initSplitsFileIntoChunks() throws IOException {
+        UploadSession session = init();
+
+        assertEquals(3, session.getChunkCount());
+        assertTrue(session.getReceived().isEmpty());
+        assertTrue(Files.isDirectory(chunksRoot.resolve(session.getUploadId())));
+    }
+
+    @Test
+    void initRejectsUnsupportedOrOversizedFiles() {
+        assertThrows(IllegalArgumentException.class, () -> service.init("uploads/materials", "a.exe", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.init("uploads/materials", "a.pdf", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.init("uploads/materials", "a.pdf", 20L * 1024 * 1024 + 1));
+    }
+
+    @Test
+    void outOfOrderChunksAreAssembledInOrder() throws IOException {
+        String id = init().getUploadId();
+        put(id, 2);
+        put(id, 0);
+        put(id, 1);
+
+        UploadSession session = service.complete(id);
+
+        assertEquals("/uploads/materials/1.pdf", session.getFileUrl());
+        assertArrayEquals(FILE, saved.get(0));
+        assertFalse(Files.exists(chunksRoot.resolve(id)));
+    }
+
+    @Test
+    void resumeOnlyNeedsMissingChunks() throws IOException {
+        String id = init().getUploadId();
+        put(id, 0);
+        put(id, 2);
+
+        // 网络中断后查询已收到的分片，只补传缺少的分片
+        assertEquals(List.of(0, 2), service.getSession(id).getReceived());
+        put(id, 1);
+
+        service.complete(id);
+        assertArrayEquals(FILE, saved.get(0));
+    }
+
+    @Test
+    void duplicateChunkOverwritesPreviousUpload() throws IOException {
+        String id = init().getUploadId();
+        service.putChunk(id, 0, new ByteArrayInputStream(new byte[CHUNK]));
+        put(id, 0);
+        put(id, 1);
+        put(id, 2);
+
+        assertEquals(List.of(0, 1, 2), service.getSession(id).getReceived());
+        service.complete(id);
+        assertArrayEquals(FILE, saved.get(0));
+    }
+
+    @Test
+    void chunkWithWrongSizeIsRejected() throws IOException {
+        String id = init().getUploadId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.putChunk(id, 2, new ByteArrayInputStream(new byte[11])));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.putChunk(id, 0, new ByteArrayInputStream(new byte[CHUNK - 1])));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.putChunk(id, 3, new ByteArrayInputStream(new byte[10])));
+        assertTrue(service.getSession(id).getReceived().isEmpty());
+    }
+
+    @Test
+    void completeWithMissingChunkFails() throws IOException {
+        String id = init().getUploadId();
+        put(id, 0);
+        put(id, 2);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.complete(id));
+        assertEquals("还有 1 个分片未上传", e.getMessage());
+        assertTrue(saved.isEmpty());
+
+        // 补传后可以继续完成
+        put(id, 1);
+        service.complete(id);
+        assertArrayEquals(FILE, saved.get(0));
+    }
+
+    @Test
+    void repeatedCompleteReturnsFirstResult() throws IOException {
+        String id = init().getUploadId();
+        putAll(id);
+
+        UploadSession first = service.complete(id);
+        UploadSession second = service.complete(id);
+
+        assertSame(first, second);
+        assertEquals(1, saved.size());
+
+        // 完成后重复的分片请求被忽略
+        put(id, 0);
+        assertFalse(Files.exists(chunksRoot.resolve(id)));
+    }
+
+    @Test
+    void abortedSessionRejectsChunks() throws IOException {
+        String id = init().getUploadId();
+        put(id, 0);
+
+        service.abort(id);
+
+        assertFalse(Files.exists(chunksRoot.resolve(id)));
+        assertThrows(NoSuchElementException.class, () -> put(id, 1));
+        assertThrows(NoSuchElementException.class, () -> service.complete(id));
+    }
+
+    @Test
+    void inactiveSessionExpires() throws IOException {
+        String id = init().getUploadId();
+        put(id, 0);
+        String recent = init().getUploadId();
+
+        lastActivity(id, System.currentTimeMillis() - 25 * 3600_000L);
+        service.cleanupExpiredSessions();
+
+        assertThrows(NoSuchElementException.class, () -> service.getSession(id));
+        assertFalse(Files.exists(chunksRoot.resolve(id)));
+        assertNull(service.getSession(recent).getFileUrl());
+    }
+
+    @Test
+    void completedSessionIsKeptForOneHour() throws IOException {
+        String id = init().getUploadId();
+        putAll(id);
+        service.complete(id);
+
+        lastActivity(id, System.currentTimeMillis() - 30 * 60_000L);
+        service.cleanupExpiredSessions();
+        assertEquals("/uploads/materials/1.pdf", service.getSession(id).getFileUrl());
+
+        lastActivity(id, System.currentTimeMillis() - 2 * 3600_000L);
+        service.cleanupExpiredSessions();
+        assertThrows(NoSuchElementException.class, () -> service.getSession(id));
+    }
+
+    @Test
+    void leftoverChunkDirectoriesAreRemoved() throws IOException {
+        Path orphan = Files.createDirectories(chunksRoot.resolve("orphan"));
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - 25 * 3600_000L));
+        Path fresh = Files.createDirectories(chunksRoot.resolve("fresh"));
+
+        service.cleanupExpiredSessions();
+
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(fresh));
+    }
+
+    private UploadSession init() throws IOException {
+        return service.init("uploads/materials", "lecture.pdf", FILE.length);
+    }
+
+    private void put(String uploadId, int index) throws IOException {
+        int from = index * CHUNK;
+        int to = Math.min(from + CHUNK, FILE.length);
+        service.putChunk(uploadId, index, new ByteArrayInputStream(Arrays.copyOfRange(FILE, from, to)));
+    }
+
+    private void putAll(String uploadId) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            put(uploadId, i);
+        }
+    }
+
+    private void lastActivity(String uploadId, long millis) {
+        ReflectionTestUtils.setField(service.getSession(uploadId), "lastActivity", millis);
+    }
+
+    private static byte[] content(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + i / CHUNK);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,168 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentAddressedStoreTest {
+
+    @TempDir
+    Path base;
+
+    @BeforeEach
+    void useTempDirectory() {
+        ContentAddressedStore.setBaseDirectory(base);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        ContentAddressedStore.setBaseDirectory(Paths.get(""));
+        ContentAddressedStore.setHardLinker(Files::createLink);
+    }
+
+    @Test
+    void sameContentIsStoredOnceWithRefCountTwo() throws IOException {
+        String first = store("hello", ".PDF");
+        String second = store("hello", ".pdf");
+
+        assertEquals(first, second);
+        assertTrue(first.matches("/uploads/pdfs/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+        assertEquals(2, ContentAddressedStore.refCount(first));
+        assertEquals("hello", read(first));
+    }
+
+    @Test
+    void differentContentGetsDifferentUrl() throws IOException {
+        assertNotEquals(store("a", ".pdf"), store("b", ".pdf"));
+    }
+
+    @Test
+    void noTemporaryFilesAreLeftBehind() throws IOException {
+        store("hello", ".pdf");
+        store("hello", ".pdf");
+
+        try (var files = Files.list(base.resolve("uploads/pdfs"))) {
+            assertTrue(files.noneMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void releaseDeletesOnlyAtZero() throws IOException {
+        String url = store("hello", ".pdf");
+        store("hello", ".pdf");
+
+        assertFalse(ContentAddressedStore.release(url));
+        assertEquals(1, ContentAddressedStore.refCount(url));
+        assertTrue(Files.exists(disk(url)));
+
+        assertTrue(ContentAddressedStore.release(url));
+        assertEquals(0, ContentAddressedStore.refCount(url));
+        assertFalse(Files.exists(disk(url)));
+    }
+
+    @Test
+    void legacyFileWithoutRefCountIsDeletedOnFirstRelease() throws IOException {
+        Path legacy = base.resolve("uploads/avatars/avatar_1.jpg");
+        Files.createDirectories(legacy.getParent());
+        Files.writeString(legacy, "old");
+
+        assertTrue(ContentAddressedStore.release("/uploads/avatars/avatar_1.jpg"));
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void releaseOfMissingFileReturnsFalse() throws IOException {
+        assertFalse(ContentAddressedStore.release("/uploads/pdfs/missing.pdf"));
+    }
+
+    @Test
+    void purgeRespectsModifiedBefore() throws IOException {
+        String url = store("hello", ".pdf");
+        Files.setLastModifiedTime(disk(url), FileTime.fromMillis(1_000_000));
+
+        assertFalse(ContentAddressedStore.purge(url, 1_000_000));
+        assertTrue(Files.exists(disk(url)));
+
+        assertTrue(ContentAddressedStore.purge(url, 1_000_001));
+        assertFalse(Files.exists(disk(url)));
+        assertEquals(0, ContentAddressedStore.refCount(url));
+    }
+
+    @Test
+    void storingAgainProtectsFileFromPurge() throws IOException {
+        String url = store("hello", ".pdf");
+        Files.setLastModifiedTime(disk(url), FileTime.fromMillis(1_000_000));
+        long deadline = System.currentTimeMillis() - 60_000;
+
+        store("hello", ".pdf");
+
+        assertFalse(ContentAddressedStore.purge(url, deadline));
+    }
+
+    @Test
+    void linkCopiesRefCountAndUsesHardLink() throws IOException {
+        String url = store("hello", ".pdf");
+        store("hello", ".pdf");
+
+        assertTrue(ContentAddressedStore.link(url, "/uploads/moved/a.pdf"));
+
+        assertEquals("hello", read("/uploads/moved/a.pdf"));
+        assertEquals(2, ContentAddressedStore.refCount("/uploads/moved/a.pdf"));
+        assertTrue(Files.isSameFile(disk(url), disk("/uploads/moved/a.pdf")));
+    }
+
+    @Test
+    void linkFallsBackToCopy() throws IOException {
+        ContentAddressedStore.setHardLinker((link, existing) -> {
+            throw new UnsupportedOperationException();
+        });
+        String url = store("hello", ".pdf");
+
+        assertTrue(ContentAddressedStore.link(url, "/uploads/moved/a.pdf"));
+
+        assertEquals("hello", read("/uploads/moved/a.pdf"));
+        assertFalse(Files.isSameFile(disk(url), disk("/uploads/moved/a.pdf")));
+        assertEquals(1, ContentAddressedStore.refCount("/uploads/moved/a.pdf"));
+    }
+
+    @Test
+    void linkOfMissingFileReturnsFalse() throws IOException {
+        assertFalse(ContentAddressedStore.link("/uploads/pdfs/missing.pdf", "/uploads/moved/a.pdf"));
+        assertFalse(Files.exists(disk("/uploads/moved/a.pdf")));
+    }
+
+    @Test
+    void pathsOutsideUploadsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ContentAddressedStore.release("/uploads/../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> ContentAddressedStore.release("/uploads/.refs/pdfs/a.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> ContentAddressedStore.purge("/static/a.pdf", Long.MAX_VALUE));
+    }
+
+    private String store(String content, String extension) throws IOException {
+        return ContentAddressedStore.store(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "uploads/pdfs", extension);
+    }
+
+    private String read(String url) throws IOException {
+        return Files.readString(disk(url));
+    }
+
+    private Path disk(String url) {
+        return base.resolve(url.substring(1));
+    }
+}
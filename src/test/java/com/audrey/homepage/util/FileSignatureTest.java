@@ -0,0 +1,82 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSignatureTest {
+
+    @Test
+    void detectsEachSignature() {
+        assertSame(FileSignature.JPEG, detect(bytes(0xFF, 0xD8, 0xFF, 0xE0)));
+        assertSame(FileSignature.PNG, detect(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)));
+        assertSame(FileSignature.GIF, detect(ascii("GIF89a")));
+        assertSame(FileSignature.PDF, detect(ascii("%PDF-1.7")));
+        assertSame(FileSignature.OOXML, detect(bytes('P', 'K', 3, 4, 20, 0)));
+        assertSame(FileSignature.OLE, detect(bytes(0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)));
+    }
+
+    @Test
+    void webpIgnoresLengthBytes() {
+        byte[] header = bytes('R', 'I', 'F', 'F', 0x12, 0x34, 0x56, 0x78, 'W', 'E', 'B', 'P');
+        assertSame(FileSignature.WEBP, detect(header));
+
+        // 其它 RIFF 容器（如 WAV）不是 WebP
+        assertNull(detect(bytes('R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'A', 'V', 'E')));
+    }
+
+    @Test
+    void shortHeaderDoesNotMatch() {
+        byte[] header = ascii("%PDF-1.7");
+        assertFalse(FileSignature.PDF.matches(header, 4));
+        assertTrue(FileSignature.PDF.matches(header, 5));
+    }
+
+    @Test
+    void unknownContentIsNotDetected() {
+        assertNull(detect(ascii("<html>")));
+        assertNull(detect(new byte[0]));
+    }
+
+    @Test
+    void extensionIsCaseInsensitive() {
+        assertSame(FileSignature.JPEG, FileSignature.forExtension(".JPG"));
+        assertSame(FileSignature.JPEG, FileSignature.forExtension(".jpeg"));
+        assertSame(FileSignature.OOXML, FileSignature.forExtension(".Pptx"));
+        assertSame(FileSignature.OLE, FileSignature.forExtension(".doc"));
+    }
+
+    @Test
+    void unsupportedExtensionHasNoSignature() {
+        assertNull(FileSignature.forExtension(".exe"));
+        assertNull(FileSignature.forExtension(""));
+    }
+
+    @Test
+    void maxLengthCoversLongestSignature() {
+        byte[] header = bytes('R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P');
+        assertTrue(FileSignature.WEBP.matches(header, FileSignature.MAX_LENGTH));
+        assertFalse(FileSignature.WEBP.matches(header, FileSignature.MAX_LENGTH - 1));
+    }
+
+    private static FileSignature detect(byte[] header) {
+        return FileSignature.detect(header, header.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+}
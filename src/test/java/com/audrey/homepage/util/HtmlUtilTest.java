@@ -0,0 +1,76 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlUtilTest {
+
+    @Test
+    void stripsTagsAndCollapsesWhitespace() {
+        assertEquals("Hello world !", HtmlUtil.stripHtmlTags("  <p>Hello\n  <b>world</b></p> <br/>! "));
+    }
+
+    @Test
+    void unclosedTagIsKeptAsText() {
+        assertEquals("a < b", HtmlUtil.stripHtmlTags("a < b"));
+    }
+
+    @Test
+    void decodesNamedEntities() {
+        assertEquals("<a> & \"b\" 'c' d", HtmlUtil.stripHtmlTags("&lt;a&gt; &amp; &quot;b&quot; &apos;c&apos;&nbsp;d"));
+    }
+
+    @Test
+    void decodesNumericEntities() {
+        assertEquals("'' 中 😀", HtmlUtil.stripHtmlTags("&#39;&#x27; &#20013; &#x1F600;"));
+    }
+
+    @Test
+    void invalidEntitiesAreKeptAsText() {
+        assertEquals("&foo; &#xD800; &#0; & x &;", HtmlUtil.stripHtmlTags("&foo; &#xD800; &#0; & x &;"));
+        assertEquals("&#x110000;", HtmlUtil.stripHtmlTags("&#x110000;"));
+    }
+
+    @Test
+    void truncateCountsCodePoints() {
+        // 😀 占两个char，按一个字符计算
+        assertEquals("😀😀", HtmlUtil.truncate("😀😀", 2));
+        assertEquals("😀...", HtmlUtil.truncate("😀😀", 1));
+        assertEquals("abc", HtmlUtil.truncate("abc", 3));
+        assertEquals("", HtmlUtil.truncate(null, 3));
+    }
+
+    @Test
+    void summaryDoesNotSplitSurrogatePairs() {
+        assertEquals("a😀...", HtmlUtil.getTextSummary("<p>a😀b</p>", 2));
+    }
+
+    @Test
+    void summaryDoesNotEndWithSpace() {
+        assertEquals("ab...", HtmlUtil.getTextSummary("ab cd", 3));
+        assertEquals("ab c...", HtmlUtil.getTextSummary("ab cd", 4));
+        assertEquals("ab cd", HtmlUtil.getTextSummary("ab cd", 5));
+    }
+
+    @Test
+    void trailingTagsDoNotCauseEllipsis() {
+        assertEquals("abc", HtmlUtil.getTextSummary("<p>abc</p> <br/>", 3));
+    }
+
+    @Test
+    void summarizeKeepsNull() {
+        assertNull(HtmlUtil.summarize(null));
+        assertEquals("", HtmlUtil.summarize("<p></p>"));
+    }
+
+    @Test
+    void hasTextIgnoresTagsAndWhitespace() {
+        assertFalse(HtmlUtil.hasText("<p> &nbsp; <br/></p>"));
+        assertTrue(HtmlUtil.hasText("<p>&amp;</p>"));
+        assertFalse(HtmlUtil.hasText(null));
+    }
+}
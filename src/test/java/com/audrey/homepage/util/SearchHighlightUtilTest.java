@@ -0,0 +1,67 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchHighlightUtilTest {
+
+    private static final String OPEN = "<span class=\"highlight\">";
+
+    private static final String CLOSE = "</span>";
+
+    private final SearchHighlightUtil util = new SearchHighlightUtil();
+
+    @Test
+    void highlightsEveryOccurrenceIgnoringCase() {
+        assertEquals(OPEN + "Graph" + CLOSE + " and " + OPEN + "graph" + CLOSE,
+                util.highlight("Graph and graph", "GRAPH"));
+    }
+
+    @Test
+    void highlightsAnyOfSeveralWords() {
+        assertEquals(OPEN + "Deep" + CLOSE + " Graph " + OPEN + "Learning" + CLOSE,
+                util.highlight("Deep Graph Learning", "  learning   deep "));
+    }
+
+    @Test
+    void overlappingMatchesAreMerged() {
+        // "abc" 和 "bcd" 在 "abcd" 中重叠
+        assertEquals("x" + OPEN + "abcd" + CLOSE + "y", util.highlight("xabcdy", "abc bcd"));
+    }
+
+    @Test
+    void adjacentMatchesAreMerged() {
+        assertEquals(OPEN + "数据挖掘" + CLOSE + "算法", util.highlight("数据挖掘算法", "数据 挖掘"));
+    }
+
+    @Test
+    void shorterWordInsideLongerWordIsCovered() {
+        assertEquals(OPEN + "network" + CLOSE + "s", util.highlight("networks", "work network"));
+    }
+
+    @Test
+    void textIsEscapedInsideAndOutsideHighlights() {
+        assertEquals("&lt;b&gt;" + OPEN + "R&amp;D" + CLOSE + "&#39;s &quot;lab&quot;",
+                util.highlight("<b>R&D's \"lab\"", "r&d"));
+    }
+
+    @Test
+    void blankKeywordOnlyEscapes() {
+        assertEquals("a &amp; b", util.highlight("a & b", "  "));
+        assertEquals("a &amp; b", util.highlight("a & b", null));
+    }
+
+    @Test
+    void emptyTextGivesEmptyString() {
+        assertEquals("", util.highlight(null, "graph"));
+        assertEquals("", util.highlight("", "graph"));
+    }
+
+    @Test
+    void keywordIsNormalizedForCaching() {
+        assertEquals("deep learning", SearchHighlightUtil.normalizeKeyword("  Deep \t LEARNING "));
+        assertEquals(util.highlight("Deep Learning", "deep learning"),
+                util.highlight("Deep Learning", " DEEP  Learning"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadPathsTest {
+
+    private static final String DIGEST = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    void digestFilenameIsShardedByItsOwnPrefix() {
+        assertEquals("/uploads/pdfs/9f/86/" + DIGEST + ".pdf",
+                UploadPaths.shardedUrl("/uploads/pdfs/" + DIGEST + ".pdf"));
+    }
+
+    @Test
+    void legacyFilenameIsShardedByMd5() {
+        // MD5("avatar_abc.jpg") = d7c8...
+        assertEquals("/uploads/avatars/d7/c8/avatar_abc.jpg",
+                UploadPaths.shardedUrl("/uploads/avatars/avatar_abc.jpg"));
+    }
+
+    @Test
+    void shardingIsStable() {
+        String url = "/uploads/avatars/avatar_abc.jpg";
+        assertEquals(UploadPaths.shardedUrl(url), UploadPaths.shardedUrl(url));
+    }
+
+    @Test
+    void shardedOrForeignUrlsAreNotSharded() {
+        assertNull(UploadPaths.shardedUrl("/uploads/pdfs/9f/86/" + DIGEST + ".pdf"));
+        assertNull(UploadPaths.shardedUrl("/static/logo.png"));
+        assertNull(UploadPaths.shardedUrl(null));
+    }
+
+    @Test
+    void isFlatRequiresDirectoryAndFilename() {
+        assertTrue(UploadPaths.isFlat("/uploads/pdfs/a.pdf"));
+        assertFalse(UploadPaths.isFlat("/uploads/a.pdf"));
+        assertFalse(UploadPaths.isFlat("/uploads/pdfs/"));
+        assertFalse(UploadPaths.isFlat("/uploads//a.pdf"));
+        assertFalse(UploadPaths.isFlat("/uploads/pdfs/ab/cd/a.pdf"));
+    }
+
+    @Test
+    void uploadUrlStopsAtJsonDelimiters() {
+        Matcher matcher = UploadPaths.UPLOAD_URL.matcher(
+                "[{\"name\":\"课件\",\"url\":\"/uploads/materials/a.pdf\"},'/uploads/materials/b.pptx']");
+        assertTrue(matcher.find());
+        assertEquals("/uploads/materials/a.pdf", matcher.group());
+        assertTrue(matcher.find());
+        assertEquals("/uploads/materials/b.pptx", matcher.group());
+        assertFalse(matcher.find());
+    }
+}
@@ -0,0 +1,68 @@
+package com.audrey.homepage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidatingInputStreamTest {
+
+    private static final byte[] PDF = ascii("%PDF-1.7\nhello world");
+
+    @Test
+    void passesContentThroughUnchanged() throws IOException {
+        assertArrayEquals(PDF, open(PDF, 100).readAllBytes());
+    }
+
+    @Test
+    void singleByteReadsReturnEveryByte() throws IOException {
+        InputStream input = open(PDF, 100);
+        for (byte b : PDF) {
+            assertEquals(b & 0xFF, input.read());
+        }
+        assertEquals(-1, input.read());
+    }
+
+    @Test
+    void mismatchReportsActualType() {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0};
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> open(png, 100).readAllBytes());
+        assertEquals("文件内容与文件类型不符（实际为PNG 图片）", e.getMessage());
+    }
+
+    @Test
+    void unknownContentIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> open(ascii("<html></html>"), 100).readAllBytes());
+        assertEquals("文件内容与文件类型不符", e.getMessage());
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> open(new byte[0], 100).readAllBytes());
+        assertEquals("文件不能为空", e.getMessage());
+    }
+
+    @Test
+    void oversizedFileFailsWhileReading() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> open(PDF, PDF.length - 1).readAllBytes());
+        assertEquals("too large", e.getMessage());
+    }
+
+    private static InputStream open(byte[] content, long maxSize) {
+        return new ValidatingInputStream(new ByteArrayInputStream(content), FileSignature.PDF, maxSize, "too large");
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}